@@ -96,6 +96,8 @@ dependencies {
 
     compileOnly("cc.polyfrost:oneconfig-1.8.9-forge:0.2.2-alpha+")
     shadowImpl("cc.polyfrost:oneconfig-wrapper-launchwrapper:1.0.0-beta17")
+
+    testImplementation("junit:junit:4.13.2")
 }
 
 // Tasks:
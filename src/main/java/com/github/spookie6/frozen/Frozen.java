@@ -3,18 +3,28 @@ package com.github.spookie6.frozen;
 import com.github.spookie6.frozen.commands.MainCommand;
 import com.github.spookie6.frozen.config.ModConfig;
 import com.github.spookie6.frozen.events.EventDispatcher;
+import com.github.spookie6.frozen.events.EventProfiler;
 import com.github.spookie6.frozen.features.dungeons.*;
 import com.github.spookie6.frozen.features.hud.MaskTimers;
 import com.github.spookie6.frozen.features.hud.ReaperTimer;
 import com.github.spookie6.frozen.features.hud.Speed;
 import com.github.spookie6.frozen.features.misc.*;
+import com.github.spookie6.frozen.utils.ConfigWriter;
+import com.github.spookie6.frozen.utils.EntityIndex;
 import com.github.spookie6.frozen.utils.SlotBindingUtils;
+import com.github.spookie6.frozen.utils.TickClock;
 import com.github.spookie6.frozen.utils.overlays.*;
+import com.github.spookie6.frozen.utils.render.RenderUtils;
+import com.github.spookie6.frozen.utils.render.TextMetrics;
+import com.github.spookie6.frozen.utils.render.WorldBoxBatch;
+import com.github.spookie6.frozen.utils.render.WorldCuller;
 import com.github.spookie6.frozen.utils.skyblock.LocationUtils;
 import com.github.spookie6.frozen.utils.skyblock.PartyUtils;
+import com.github.spookie6.frozen.utils.skyblock.TablistModel;
 import com.github.spookie6.frozen.utils.skyblock.dungeon.DungeonUtils;
 import com.github.spookie6.frozen.utils.skyblock.dungeon.SplitsManager;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.resources.IReloadableResourceManager;
 import net.minecraftforge.client.ClientCommandHandler;
 import net.minecraftforge.client.event.RenderGameOverlayEvent;
 import net.minecraftforge.common.MinecraftForge;
@@ -45,6 +55,9 @@ public class Frozen {
 
     @Mod.EventHandler
     public void init(FMLInitializationEvent event) {
+        // Registered after the font renderer so the glyph widths are already reloaded, also runs once right away.
+        ((IReloadableResourceManager) mc.getResourceManager()).registerReloadListener(resourceManager -> TextMetrics.load(c -> mc.fontRendererObj.getCharWidth((char) c)));
+
         OverlayConfigManager.init();
         SlotBindingUtils.init();
         MinecraftForge.EVENT_BUS.register(guiOverlayEditor);
@@ -75,6 +88,14 @@ public class Frozen {
     private void addModules() {
         Collections.addAll(modules,
                 new EventDispatcher(),
+                new TickClock(),
+                new ConfigWriter(),
+                new OverlayManager(),
+                new RenderUtils(),
+                new WorldCuller(),
+                new WorldBoxBatch(),
+                new EntityIndex(),
+                new TablistModel(),
                 new LocationUtils(),
                 new DungeonUtils(),
                 new PartyUtils(),
@@ -111,7 +132,29 @@ public class Frozen {
                 },
                 () -> true,
                 "00:00:00"
-        ));
+        ).setRefreshInterval(100));
+
+        OverlayManager.register(new TextOverlay(
+                new BooleanConfigBinding(
+                        () -> ModConfig.tpsHud,
+                        (val) -> ModConfig.tpsHud = val
+                ),
+                "TPS",
+                TickClock::getText,
+                () -> true,
+                "§a20.00 §8±§70.0ms"
+        ).setRefreshInterval(500));
+
+        OverlayManager.register(new TextOverlay(
+                new BooleanConfigBinding(
+                        () -> EventProfiler.enabled,
+                        (val) -> EventProfiler.enabled = val
+                ),
+                "Event profiler",
+                () -> EventProfiler.getText(8),
+                () -> true,
+                "§bTickTimers §7ServerTickEvent§r#§f1200 §8p50 §70.4us §8p99 §72.1us §8max §715.0us"
+        ).setRefreshInterval(500));
     }
 
 //    @SubscribeEvent
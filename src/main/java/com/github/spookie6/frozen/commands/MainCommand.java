@@ -1,14 +1,20 @@
 package com.github.spookie6.frozen.commands;
 
 import com.github.spookie6.frozen.Frozen;
+import com.github.spookie6.frozen.events.EventProfiler;
+import com.github.spookie6.frozen.features.misc.ShurikenHighlight;
 import com.github.spookie6.frozen.utils.ChatUtils;
+import com.github.spookie6.frozen.utils.SlotBindingUtils;
+import com.github.spookie6.frozen.utils.render.WorldCuller;
 import com.github.spookie6.frozen.utils.skyblock.LocationUtils;
+import com.github.spookie6.frozen.utils.skyblock.dungeon.DungeonEnums;
+import com.github.spookie6.frozen.utils.skyblock.dungeon.DungeonUtils;
+import com.github.spookie6.frozen.utils.skyblock.dungeon.RunStats;
 import com.github.spookie6.frozen.utils.skyblock.dungeon.SplitsManager;
 import net.minecraft.command.CommandBase;
 import net.minecraft.command.CommandException;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.event.ClickEvent;
 import net.minecraft.util.ChatComponentText;
 import net.minecraft.util.ChatStyle;
@@ -16,6 +22,7 @@ import net.minecraft.util.IChatComponent;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 import static com.github.spookie6.frozen.Frozen.mc;
@@ -31,6 +38,9 @@ public class MainCommand extends CommandBase {
         add(helpCmdClickable("moveoverlays", "Opens the overlay editor gui."));
         add(helpCmdClickable("location", "Returns your current location. (debug)"));
         add(helpCmdClickable("splits", "Returns current dungeon's splits. (debug)"));
+        add(helpCmdClickable("perf", "Event handler timings, /fr perf <on|off|reset>. (debug)"));
+        add(helpCmdClickable("stats", "Split statistics of your saved runs, /fr stats <floor> [runs]."));
+        add(helpCmdClickable("preset", "Slot binding presets, /fr preset <use|save|delete|area|class> <name>."));
         add(new ChatComponentText(" "));
     }};
 
@@ -81,11 +91,96 @@ public class MainCommand extends CommandBase {
                     }
                 }
                 break;
+            case "perf":
+                if (args.length > 1) {
+                    switch (args[1].toLowerCase()) {
+                        case "on":
+                            EventProfiler.enabled = true;
+                            ChatUtils.sendModInfo("Event profiler &aenabled");
+                            return;
+                        case "off":
+                            EventProfiler.enabled = false;
+                            ChatUtils.sendModInfo("Event profiler &cdisabled");
+                            return;
+                        case "reset":
+                            EventProfiler.reset();
+                            ChatUtils.sendModInfo("Event profiler reset");
+                            return;
+                    }
+                }
+                List<EventProfiler.Slot> slots = EventProfiler.getSlots();
+                if (slots.isEmpty()) ChatUtils.sendModInfo(EventProfiler.enabled ? "No events recorded yet" : "Event profiler is disabled, use /fr perf on");
+                for (int i = 0; i < Math.min(10, slots.size()); i++) {
+                    ChatUtils.sendModInfo(slots.get(i).format().replace("#", " "));
+                }
+                if (WorldCuller.getDrawn() + WorldCuller.getCulled() > 0) ChatUtils.sendModInfo(WorldCuller.format().replace("#", " "));
+                break;
+            case "preset":
+            case "presets":
+                handlePresetCommand(args);
+                break;
+            case "stats":
+                DungeonEnums.Floor floor = args.length > 1 ? DungeonEnums.Floor.getFloor(args[1].toUpperCase()) : DungeonUtils.getFloor();
+                if (floor == DungeonEnums.Floor.None) {
+                    ChatUtils.sendModInfo("Usage: /fr stats <floor> [runs], e.g. /fr stats M7 50");
+                    break;
+                }
+                int limit = 50;
+                if (args.length > 2) {
+                    try {
+                        limit = Math.max(1, Integer.parseInt(args[2]));
+                    } catch (NumberFormatException e) {
+                        ChatUtils.sendModInfo("&c" + args[2] + " &7is not a number");
+                        break;
+                    }
+                }
+                RunStats.sendStats(floor, limit);
+                break;
             case "scan":
                 new DebugShurikenScanner().scanForShurikenEntities();
         }
     }
 
+    private void handlePresetCommand(String[] args) {
+        if (args.length < 2) {
+            ChatUtils.sendModInfo("Presets: &b" + String.join("&7, &b", SlotBindingUtils.getPresetNames()) + " &7(active: &a" + SlotBindingUtils.getActivePreset() + "&7)");
+            return;
+        }
+
+        String name = args.length > 2 ? args[2] : null;
+        switch (args[1].toLowerCase()) {
+            case "use":
+                if (name == null) break;
+                if (SlotBindingUtils.usePreset(name)) ChatUtils.sendModInfo("Using preset &a" + name);
+                else ChatUtils.sendModInfo("No preset named &c" + name);
+                return;
+            case "save":
+                if (name == null) break;
+                SlotBindingUtils.savePreset(name);
+                ChatUtils.sendModInfo("Saved current bindings as preset &a" + name);
+                return;
+            case "delete":
+                if (name == null) break;
+                if (SlotBindingUtils.deletePreset(name)) ChatUtils.sendModInfo("Deleted preset &c" + name);
+                else ChatUtils.sendModInfo("Can't delete preset &c" + name);
+                return;
+            case "area":
+                SlotBindingUtils.setAreaPreset(LocationUtils.currentArea, name);
+                ChatUtils.sendModInfo(name == null ? "Cleared the preset for &b" + LocationUtils.currentArea : "Preset &a" + name + " &7is now used in &b" + LocationUtils.currentArea);
+                return;
+            case "class":
+                DungeonEnums.DungeonPlayer player = LocationUtils.currentDungeon == null ? null : LocationUtils.currentDungeon.getCurrentDungeonPlayer();
+                if (player == null) {
+                    ChatUtils.sendModInfo("Join a dungeon to bind a preset to your class");
+                    return;
+                }
+                SlotBindingUtils.setClassPreset(player.clazz, name);
+                ChatUtils.sendModInfo(name == null ? "Cleared the preset for &b" + player.clazz : "Preset &a" + name + " &7is now used as &b" + player.clazz);
+                return;
+        }
+        ChatUtils.sendModInfo("Usage: /fr preset <use|save|delete|area|class> <name>");
+    }
+
     @Override
     public boolean canCommandSenderUseCommand(ICommandSender sender) {
         return true;
@@ -107,26 +202,10 @@ public class MainCommand extends CommandBase {
 
             if (mc.theWorld == null) return;
 
-            for (Entity entity : mc.theWorld.loadedEntityList) {
-                String raw = null;
-
-                // Try custom name tag first (often used on Hypixel)
-                if (entity.hasCustomName()) {
-                    raw = entity.getCustomNameTag();
-                }
-
-                // Fallback to display name (for other cases)
-                if ((raw == null || raw.isEmpty()) && entity instanceof EntityLivingBase) {
-                    IChatComponent comp = ((EntityLivingBase) entity).getDisplayName();
-                    raw = comp.getUnformattedText();
-                }
-
-                if (raw != null && raw.endsWith("✯")) {
-                    System.out.println("Found Shuriken mob:");
-                    System.out.println("  Type: " + entity.getClass().getName());
-                    System.out.println("  Name: " + raw);
-                    System.out.println("  Pos:  " + entity.posX + ", " + entity.posY + ", " + entity.posZ);
-                }
+            Collection<Entity> shurikens = ShurikenHighlight.shurikens.getEntities();
+            ChatUtils.sendModInfo("Found &b" + shurikens.size() + " &7shuriken mobs");
+            for (Entity entity : shurikens) {
+                ChatUtils.sendModInfo(String.format("&f%s &7%s &8(%.1f, %.1f, %.1f)", entity.getCustomNameTag(), entity.getClass().getSimpleName(), entity.posX, entity.posY, entity.posZ));
             }
         }
     }
@@ -10,6 +10,7 @@ import cc.polyfrost.oneconfig.config.data.ModType;
 import cc.polyfrost.oneconfig.config.data.OptionSize;
 import cc.polyfrost.oneconfig.libs.universal.UKeyboard;
 import com.github.spookie6.frozen.Frozen;
+import com.github.spookie6.frozen.utils.SlotBindingUtils;
 import org.lwjgl.input.Keyboard;
 
 public class ModConfig extends cc.polyfrost.oneconfig.config.Config {
@@ -19,6 +20,7 @@ public class ModConfig extends cc.polyfrost.oneconfig.config.Config {
         initialize();
 
         registerKeyBind(moveOverlaysKeybind, Frozen.guiOverlayEditor::open);
+        registerKeyBind(slotbindingPresetKeybind, SlotBindingUtils::cyclePreset);
 
         addDependency("bloodTimer", "split");
         addDependency("slotbinding", false);
@@ -51,6 +53,36 @@ public class ModConfig extends cc.polyfrost.oneconfig.config.Config {
     )
     public static boolean debugMessages = false;
 
+    @Switch(
+            name = "Async packet events",
+            description = "Posts packet events on the client thread instead of the network thread"
+    )
+    public static boolean asyncPacketEvents = false;
+
+    @Switch(
+            name = "Cache overlays",
+            description = "Draws unchanged overlays from a cached framebuffer instead of redrawing their text every frame"
+    )
+    public static boolean cacheOverlays = false;
+
+    @Slider(
+            name = "Config save interval",
+            description = "Seconds between background saves of overlay positions and slot bindings",
+            min = 1,
+            max = 60,
+            step = 1
+    )
+    public static int configSaveInterval = 5;
+
+    @Slider(
+            name = "Highlight render distance",
+            description = "Blocks after which world highlights are no longer drawn, 0 for no limit",
+            min = 0,
+            max = 512,
+            step = 16
+    )
+    public static int highlightRenderDistance = 128;
+
     //    Refills
     @Dropdown(
             name = "Auto pearl refill",
@@ -220,6 +252,13 @@ public class ModConfig extends cc.polyfrost.oneconfig.config.Config {
     )
     public static boolean timeHud = false;
 
+    @Switch(
+            name = "TPS display",
+            description = "Server ticks per second over the last 5 seconds, and the jitter between ticks",
+            category = "HUD"
+    )
+    public static boolean tpsHud = false;
+
     @Switch(
             name = "Speed display",
             category = "HUD"
@@ -336,6 +375,14 @@ public class ModConfig extends cc.polyfrost.oneconfig.config.Config {
     )
     public static boolean sendSplits = false;
 
+    @Switch(
+            name = "Personal best deltas",
+            description = "Show the difference to your best time of every split, from runs saved in config/frozen/runs.bin",
+            category = "Splits",
+            size = 2
+    )
+    public static boolean splitsPbDelta = false;
+
     @Slider(
             name = "Extra width",
             description = "How much extra width to add to the splits overlay",
@@ -532,6 +579,15 @@ public class ModConfig extends cc.polyfrost.oneconfig.config.Config {
     )
     public static OneKeyBind slotbindingClearKeybind = new OneKeyBind(Keyboard.KEY_TAB);
 
+    @KeyBind(
+            name = "Next preset keybind",
+            description = "Switches to the next slot binding preset, see /fr preset",
+            size = 2,
+            category = "Gui",
+            subcategory = "Slot binding"
+    )
+    public static OneKeyBind slotbindingPresetKeybind = new OneKeyBind();
+
     @Slider(
             name = "Outline thickness",
             category = "Gui",
@@ -0,0 +1,235 @@
+package com.github.spookie6.frozen.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Central registry for chat triggers. Rules are precompiled once and indexed by the literal
+ * prefix of their regex in a trie, so a message only walks its own first characters and
+ * evaluates the few rules that can possibly match it. Rules without a literal prefix (a leading
+ * optional rank, a username...) are indexed by their literal suffix in a second trie instead.
+ */
+public class ChatRules {
+    private static final Node root = new Node();
+    private static final Node suffixRoot = new Node();
+    private static int ruleCount = 0;
+    private static Rule[] candidates = new Rule[16];
+
+    /** Registers a rule that must match the whole (unformatted) message, like {@link String#matches}. */
+    public static void register(String regex, Consumer<Matcher> callback) {
+        register(Pattern.compile(regex), false, callback);
+    }
+
+    /** Registers a rule that only has to be found somewhere in the message, like {@link Matcher#find}. */
+    public static void registerFind(String regex, Consumer<Matcher> callback) {
+        register(Pattern.compile(regex), true, callback);
+    }
+
+    public static synchronized void register(Pattern pattern, boolean find, Consumer<Matcher> callback) {
+        String prefix = find && !pattern.pattern().startsWith("^") ? "" : literalPrefix(pattern);
+        String suffix = !prefix.isEmpty() || find && !pattern.pattern().endsWith("$") ? "" : literalSuffix(pattern);
+
+        Node node = root;
+        if (!prefix.isEmpty()) {
+            for (int i = 0; i < prefix.length(); i++) node = node.getOrCreate(prefix.charAt(i));
+        } else if (!suffix.isEmpty()) {
+            node = suffixRoot;
+            for (int i = suffix.length() - 1; i >= 0; i--) node = node.getOrCreate(suffix.charAt(i));
+        }
+        node.rules.add(new Rule(ruleCount++, pattern, find, callback));
+    }
+
+    public static synchronized void dispatch(String message) {
+        if (message == null) return;
+
+        int count = collect(root, 0);
+        Node node = root;
+        for (int i = 0, len = message.length(); i < len; i++) {
+            node = node.get(message.charAt(i));
+            if (node == null) break;
+            count = collect(node, count);
+        }
+        node = suffixRoot;
+        for (int i = message.length() - 1; i >= 0; i--) {
+            node = node.get(message.charAt(i));
+            if (node == null) break;
+            count = collect(node, count);
+        }
+
+        // Keep registration order so features see rules in the order they declared them.
+        for (int i = 1; i < count; i++) {
+            Rule rule = candidates[i];
+            int j = i - 1;
+            while (j >= 0 && candidates[j].id > rule.id) {
+                candidates[j + 1] = candidates[j];
+                j--;
+            }
+            candidates[j + 1] = rule;
+        }
+
+        for (int i = 0; i < count; i++) {
+            Rule rule = candidates[i];
+            candidates[i] = null;
+
+            Matcher m = rule.pattern.matcher(message);
+            if (rule.find ? m.find() : m.matches()) rule.callback.accept(m);
+        }
+    }
+
+    private static int collect(Node node, int count) {
+        int size = node.rules.size();
+        if (size == 0) return count;
+
+        if (count + size > candidates.length) {
+            Rule[] grown = new Rule[Math.max(candidates.length * 2, count + size)];
+            System.arraycopy(candidates, 0, grown, 0, count);
+            candidates = grown;
+        }
+        for (int i = 0; i < size; i++) candidates[count++] = node.rules.get(i);
+        return count;
+    }
+
+    /**
+     * Returns the literal text every match of the pattern has to start with, or an empty string
+     * when that can't be determined (flags, top level alternation, leading character classes...).
+     */
+    static String literalPrefix(Pattern pattern) {
+        String regex = pattern.pattern();
+        if (pattern.flags() != 0 || hasTopLevelAlternation(regex)) return "";
+
+        StringBuilder prefix = new StringBuilder();
+        int i = regex.startsWith("^") ? 1 : 0;
+        int len = regex.length();
+
+        while (i < len) {
+            char c = regex.charAt(i);
+            char literal;
+            int next;
+
+            if (c == '\\') {
+                if (i + 1 >= len) break;
+                char escaped = regex.charAt(i + 1);
+                if (Character.isLetterOrDigit(escaped)) break; // \d, \w, \Q, back references...
+                literal = escaped;
+                next = i + 2;
+            } else if (".[()?*+{|^$".indexOf(c) >= 0) {
+                break;
+            } else {
+                literal = c;
+                next = i + 1;
+            }
+
+            char quantifier = next < len ? regex.charAt(next) : 0;
+            if (quantifier == '?' || quantifier == '*' || quantifier == '{') break;
+
+            prefix.append(literal);
+            if (quantifier == '+') break;
+            i = next;
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * Returns the literal text every match of the pattern has to end with, or an empty string
+     * when that can't be determined.
+     */
+    static String literalSuffix(Pattern pattern) {
+        String regex = pattern.pattern();
+        if (pattern.flags() != 0 || hasTopLevelAlternation(regex)) return "";
+
+        StringBuilder suffix = new StringBuilder();
+        int i = regex.length() - 1;
+        if (i >= 0 && regex.charAt(i) == '$' && !isEscaped(regex, i)) i--;
+
+        while (i >= 0) {
+            char c = regex.charAt(i);
+            if (isEscaped(regex, i)) {
+                if (Character.isLetterOrDigit(c)) break;
+                suffix.append(c);
+                i -= 2;
+            } else if (".[]()?*+{}|^$\\".indexOf(c) >= 0) {
+                break;
+            } else {
+                suffix.append(c);
+                i--;
+            }
+        }
+        return suffix.reverse().toString();
+    }
+
+    private static boolean isEscaped(String regex, int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && regex.charAt(i) == '\\'; i--) backslashes++;
+        return backslashes % 2 == 1;
+    }
+
+    private static boolean hasTopLevelAlternation(String regex) {
+        int depth = 0;
+        boolean inClass = false;
+
+        for (int i = 0, len = regex.length(); i < len; i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+                continue;
+            }
+            if (inClass) {
+                if (c == ']') inClass = false;
+                continue;
+            }
+            switch (c) {
+                case '[': inClass = true; break;
+                case '(': depth++; break;
+                case ')': depth--; break;
+                case '|': if (depth == 0) return true; break;
+            }
+        }
+        return false;
+    }
+
+    private static class Rule {
+        final int id;
+        final Pattern pattern;
+        final boolean find;
+        final Consumer<Matcher> callback;
+
+        Rule(int id, Pattern pattern, boolean find, Consumer<Matcher> callback) {
+            this.id = id;
+            this.pattern = pattern;
+            this.find = find;
+            this.callback = callback;
+        }
+    }
+
+    private static class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        final List<Rule> rules = new ArrayList<>(1);
+
+        Node get(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) return children[i];
+            }
+            return null;
+        }
+
+        Node getOrCreate(char c) {
+            Node child = get(c);
+            if (child != null) return child;
+
+            int n = keys.length;
+            char[] newKeys = new char[n + 1];
+            Node[] newChildren = new Node[n + 1];
+            System.arraycopy(keys, 0, newKeys, 0, n);
+            System.arraycopy(children, 0, newChildren, 0, n);
+            newKeys[n] = c;
+            newChildren[n] = child = new Node();
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+    }
+}
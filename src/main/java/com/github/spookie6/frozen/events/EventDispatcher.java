@@ -1,5 +1,50 @@
 package com.github.spookie6.frozen.events;
 
+import com.github.spookie6.frozen.config.ModConfig;
+import com.github.spookie6.frozen.events.impl.ChatPacketEvent;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.fml.common.eventhandler.Event;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
 public class EventDispatcher {
-    ;
+    private static final EventQueue queue = new EventQueue(4096);
+
+    private static final ClassValue<Boolean> synchronous = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(Synchronous.class);
+        }
+    };
+
+    /**
+     * Posts an event coming from the network thread. With async packet events enabled it is
+     * queued and posted on the client thread at the start of the next tick instead.
+     */
+    public static void post(Event event) {
+        if (!ModConfig.asyncPacketEvents || event.isCancelable() || synchronous.get(event.getClass())) {
+            MinecraftForge.EVENT_BUS.post(event);
+            return;
+        }
+        queue.offer(event);
+    }
+
+    public static long getDroppedEvents() {
+        return queue.getDropped();
+    }
+
+    public static int getQueuedEvents() {
+        return queue.size();
+    }
+
+    @SubscribeEvent
+    public void onTick(TickEvent.ClientTickEvent e) {
+        if (e.phase != TickEvent.Phase.START) return;
+        queue.drain(MinecraftForge.EVENT_BUS::post, queue.capacity());
+    }
+
+    @SubscribeEvent(receiveCanceled = true)
+    public void onChatPacket(ChatPacketEvent e) {
+        ChatRules.dispatch(e.message);
+    }
 }
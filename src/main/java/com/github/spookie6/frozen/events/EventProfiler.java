@@ -0,0 +1,124 @@
+package com.github.spookie6.frozen.events;
+
+import com.github.spookie6.frozen.utils.render.WorldCuller;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-subscriber latency profiler for Frozen's own event handlers. Every Forge event handler
+ * whose target lives in this mod gets a {@link Slot}; MixinASMEventHandler times the invocation
+ * only while {@link #enabled} is set, so disabled profiling costs a single field read.
+ */
+public class EventProfiler {
+    private static final String PACKAGE = "com.github.spookie6.frozen.";
+
+    public static volatile boolean enabled = false;
+
+    private static final List<Slot> slots = new ArrayList<>();
+
+    private static String cachedText = "";
+    private static long lastTextUpdate = 0;
+
+    public static synchronized Slot slotFor(Object target, Method method) {
+        if (target == null || method == null) return null;
+        Class<?> owner = target instanceof Class ? (Class<?>) target : target.getClass();
+        if (!owner.getName().startsWith(PACKAGE)) return null;
+
+        String module = owner.getSimpleName();
+        String event = method.getParameterTypes().length > 0 ? eventName(method.getParameterTypes()[0]) : method.getName();
+
+        for (Slot slot : slots) {
+            if (slot.module.equals(module) && slot.event.equals(event)) return slot;
+        }
+        Slot slot = new Slot(module, event);
+        slots.add(slot);
+        return slot;
+    }
+
+    private static String eventName(Class<?> type) {
+        Class<?> enclosing = type.getEnclosingClass();
+        return enclosing == null ? type.getSimpleName() : eventName(enclosing) + "." + type.getSimpleName();
+    }
+
+    /** Snapshot of all slots that recorded at least one call, most expensive (total time) first. */
+    public static synchronized List<Slot> getSlots() {
+        List<Slot> active = new ArrayList<>();
+        for (Slot slot : slots) {
+            if (slot.histogram.getCount() > 0) active.add(slot);
+        }
+        active.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return active;
+    }
+
+    /** Overlay text for the most expensive handlers, rebuilt at most twice a second. */
+    public static String getText(int limit) {
+        long now = System.currentTimeMillis();
+        if (now - lastTextUpdate < 500) return cachedText;
+        lastTextUpdate = now;
+
+        List<String> lines = new ArrayList<>();
+        List<Slot> active = getSlots();
+        for (int i = 0; i < Math.min(limit, active.size()); i++) lines.add(active.get(i).format());
+        if (WorldCuller.getDrawn() + WorldCuller.getCulled() > 0) lines.add(WorldCuller.format());
+        cachedText = lines.isEmpty() ? "§7No events recorded" : String.join("\n", lines);
+        return cachedText;
+    }
+
+    public static synchronized void reset() {
+        for (Slot slot : slots) slot.reset();
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos >= 1_000_000) return String.format("%.2fms", nanos / 1_000_000f);
+        return String.format("%.1fus", nanos / 1000f);
+    }
+
+    public static class Slot {
+        public final String module;
+        public final String event;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        Slot(String module, String event) {
+            this.module = module;
+            this.event = event;
+        }
+
+        public void record(long nanos) {
+            synchronized (histogram) {
+                histogram.record(nanos);
+            }
+        }
+
+        public long getCount() {
+            synchronized (histogram) { return histogram.getCount(); }
+        }
+
+        public long getPercentile(double percentile) {
+            synchronized (histogram) { return histogram.getPercentile(percentile); }
+        }
+
+        public long getTotalNanos() {
+            synchronized (histogram) { return histogram.getTotalNanos(); }
+        }
+
+        public long getMax() {
+            synchronized (histogram) { return histogram.getMax(); }
+        }
+
+        public String format() {
+            synchronized (histogram) {
+                return String.format("§b%s §7%s§r#§f%d §8p50 §7%s §8p99 §7%s §8max §7%s",
+                        module, event, histogram.getCount(),
+                        formatNanos(histogram.getPercentile(50)),
+                        formatNanos(histogram.getPercentile(99)),
+                        formatNanos(histogram.getMax()));
+            }
+        }
+
+        void reset() {
+            synchronized (histogram) { histogram.reset(); }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.spookie6.frozen.events;
+
+import net.minecraftforge.fml.common.eventhandler.Event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring buffer. Producers (netty threads)
+ * claim a slot with a CAS on the tail, the single consumer (client thread) frees slots by
+ * clearing them before advancing the head. A full queue drops the event instead of blocking.
+ */
+public class EventQueue {
+    private final AtomicReferenceArray<Event> buffer;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head = 0;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    public EventQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be a power of two");
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public boolean offer(Event event) {
+        long t;
+        do {
+            t = tail.get();
+            if (t - head > mask) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!tail.compareAndSet(t, t + 1));
+
+        buffer.lazySet((int) (t & mask), event);
+        return true;
+    }
+
+    /** Must only be called from the consumer thread. Returns the amount of events handed to the consumer. */
+    public int drain(Consumer<Event> consumer, int limit) {
+        int drained = 0;
+        long h = head;
+
+        while (drained < limit) {
+            int index = (int) (h & mask);
+            Event event = buffer.get(index);
+            if (event == null) break; // Slot claimed but not published yet, or queue empty.
+
+            buffer.lazySet(index, null);
+            head = ++h;
+            consumer.accept(event);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.spookie6.frozen.events;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an event that always has to be posted on the thread that produced it, even when
+ * async packet events are enabled. Cancelable events are treated as synchronous implicitly.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Synchronous {
+}
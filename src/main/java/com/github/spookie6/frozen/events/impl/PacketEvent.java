@@ -1,5 +1,6 @@
 package com.github.spookie6.frozen.events.impl;
 
+import com.github.spookie6.frozen.events.Synchronous;
 import net.minecraft.network.Packet;
 import net.minecraftforge.fml.common.eventhandler.Event;
 
@@ -20,6 +21,8 @@ public class PacketEvent extends Event {
         }
     }
 
+    // Raw packets can be backed by netty buffers that vanilla releases once handled.
+    @Synchronous
     public static class Received extends PacketEvent {
         public Received(Packet<?> packet) {
             super(packet);
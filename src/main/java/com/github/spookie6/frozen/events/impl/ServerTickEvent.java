@@ -3,6 +3,8 @@ package com.github.spookie6.frozen.events.impl;
 import net.minecraftforge.fml.common.eventhandler.Event;
 
 public class ServerTickEvent extends Event {
+    // Arrival time of the transaction packet, posting can be deferred to the client thread.
+    public final long nanos = System.nanoTime();
 
     public ServerTickEvent() {}
 }
@@ -1,10 +1,11 @@
 package com.github.spookie6.frozen.features.dungeons;
 
 import com.github.spookie6.frozen.config.ModConfig;
-import com.github.spookie6.frozen.events.impl.ChatPacketEvent;
+import com.github.spookie6.frozen.events.ChatRules;
 import com.github.spookie6.frozen.utils.ChatUtils;
 import com.github.spookie6.frozen.utils.overlays.BooleanConfigBinding;
 import com.github.spookie6.frozen.utils.overlays.OverlayManager;
+import com.github.spookie6.frozen.utils.overlays.RefreshPolicy;
 import com.github.spookie6.frozen.utils.overlays.TextOverlay;
 import com.mojang.realmsclient.gui.ChatFormatting;
 import net.minecraft.item.ItemStack;
@@ -27,15 +28,12 @@ public class CrystalTitle {
                         () -> "Place Crystal!",
                         () -> pickedUp > -1,
                         "Place Crystal!"
-                )
+                ).setRefreshPolicy(RefreshPolicy.DIRTY)
         );
-    }
 
-    @SubscribeEvent(receiveCanceled = true)
-    public void onChatPacket(ChatPacketEvent e) {
-        if (e.message.matches("(\\w+) picked up an Energy Crystal!")) {
-            if (e.message.split(" ")[0].equals(mc.thePlayer.getDisplayNameString())) pickedUp = System.currentTimeMillis();
-        }
+        ChatRules.register("(\\w+) picked up an Energy Crystal!", m -> {
+            if (m.group(1).equals(mc.thePlayer.getDisplayNameString())) pickedUp = System.currentTimeMillis();
+        });
     }
 
     @SubscribeEvent
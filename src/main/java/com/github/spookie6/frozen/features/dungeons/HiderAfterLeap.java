@@ -4,7 +4,7 @@ import com.github.spookie6.frozen.config.ModConfig;
 import net.minecraft.client.Minecraft;
 import net.minecraftforge.client.event.RenderPlayerEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import com.github.spookie6.frozen.events.impl.ChatPacketEvent;
+import com.github.spookie6.frozen.events.ChatRules;
 import com.github.spookie6.frozen.utils.ChatUtils;
 import com.github.spookie6.frozen.utils.skyblock.LocationUtils;
 //import com.github.spookie6.frozen.utils.skyblock.dungeon.SplitsManager;
@@ -14,6 +14,15 @@ import static com.github.spookie6.frozen.Frozen.mc;
 public class HiderAfterLeap {
     private static long hiddenTill = -1;
 
+    public HiderAfterLeap() {
+        ChatRules.register("You have teleported to (\\w{1,16})!", m -> {
+            if (ModConfig.hidePlayersAfterLeap == 0) return;
+//            if (ModConfig.hidePlayersAfterLeap == 2 && !LocationUtils.currentDungeon.splitsManager.currentSplit.equals(SplitsManager.Split.Terminals)) return;
+            hiddenTill = Minecraft.getSystemTime() + ModConfig.hidePlayersAfterLeapDuration * 1000L;
+            ChatUtils.sendModInfo("Hiding players!");
+        });
+    }
+
     @SubscribeEvent
     public void onRenderPlayer(RenderPlayerEvent.Pre e) {
         if (hiddenTill == -1) return;
@@ -27,14 +36,4 @@ public class HiderAfterLeap {
             ChatUtils.sendModInfo("Revealing players!");
         }
     }
-
-    @SubscribeEvent(receiveCanceled = true)
-    public void onChatPacket(ChatPacketEvent e) {
-        if (ModConfig.hidePlayersAfterLeap == 0) return;
-        if (e.message.matches("You have teleported to (\\w{1,16})!")) {
-//            if (ModConfig.hidePlayersAfterLeap == 2 && !LocationUtils.currentDungeon.splitsManager.currentSplit.equals(SplitsManager.Split.Terminals)) return;
-            hiddenTill = Minecraft.getSystemTime() + ModConfig.hidePlayersAfterLeapDuration * 1000L;
-            ChatUtils.sendModInfo("Hiding players!");
-        }
-    }
 }
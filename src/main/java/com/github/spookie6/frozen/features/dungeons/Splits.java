@@ -8,6 +8,7 @@ import com.github.spookie6.frozen.utils.overlays.TextOverlay;
 import com.github.spookie6.frozen.utils.skyblock.LocationUtils;
 import com.github.spookie6.frozen.utils.skyblock.dungeon.DungeonEnums;
 import com.github.spookie6.frozen.utils.skyblock.dungeon.SplitsManager;
+import com.github.spookie6.frozen.utils.TimeFormat;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,7 +39,8 @@ public class Splits {
                 SplitsManager::isInitialized,
                 String.join("\n", EXAMPLE_LINES)
         ).setRightAlign(new BooleanConfigBinding(() -> ModConfig.splitsRightAlign, (val) -> ModConfig.splitsRightAlign = val))
-                .setExtraWidth(new IntegerConfigBinding(() -> ModConfig.splitsExtraWidth, (val) -> ModConfig.splitsExtraWidth = val)));
+                .setExtraWidth(new IntegerConfigBinding(() -> ModConfig.splitsExtraWidth, (val) -> ModConfig.splitsExtraWidth = val))
+                .setRefreshInterval(10));
 
         OverlayManager.register(new TextOverlay(
                 new BooleanConfigBinding(
@@ -48,7 +50,7 @@ public class Splits {
                 "Blood split",
                 () -> {
                     long time = SplitsManager.getSplitTime(SplitsManager.Split.BloodCleared)[0];
-                    return String.format("%.2f", (float) time / 1000);
+                    return TimeFormat.seconds(time, TimeFormat.MILLIS, 2);
                 },
                 () -> {
                     if (SplitsManager.currentSplit.equals(SplitsManager.Split.BloodCleared) && LocationUtils.currentDungeon != null) {
@@ -57,6 +59,6 @@ public class Splits {
                     return false;
                 },
                 "0.00"
-        ));
+        ).setRefreshInterval(10));
     }
 }
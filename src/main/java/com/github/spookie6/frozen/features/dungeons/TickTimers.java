@@ -1,11 +1,13 @@
 package com.github.spookie6.frozen.features.dungeons;
 
 import com.github.spookie6.frozen.config.ModConfig;
-import com.github.spookie6.frozen.events.impl.ChatPacketEvent;
-import com.github.spookie6.frozen.events.impl.ServerTickEvent;
+import com.github.spookie6.frozen.events.ChatRules;
 import com.github.spookie6.frozen.utils.overlays.BooleanConfigBinding;
 import com.github.spookie6.frozen.utils.overlays.OverlayManager;
+import com.github.spookie6.frozen.utils.overlays.RefreshPolicy;
 import com.github.spookie6.frozen.utils.overlays.TextOverlay;
+import com.github.spookie6.frozen.utils.TickClock;
+import com.github.spookie6.frozen.utils.TimeFormat;
 import net.minecraft.client.Minecraft;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.world.WorldEvent;
@@ -13,11 +15,12 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.network.FMLNetworkEvent;
 
 public class TickTimers {
-    private int crystalTicks = -1;
-    private int padTicks = -1;
-    private int crushTicks = -1;
+    // Server ticks (TickClock) at which each timer started, -1 when it isn't running
+    private long crystalStart = -1;
+    private long padStart = -1;
+    private long crushStart = -1;
     private long startTime = -1;
-    private int barrierTicks = -1;
+    private long barrierStart = -1;
 
     public TickTimers() {
 //        Registering overlays
@@ -27,10 +30,10 @@ public class TickTimers {
                                 (val) -> ModConfig.crystalTicks = val
                         ),
                         "Energy crystal spawn ticks",
-                        () -> String.format("%.2f", (float) crystalTicks / 20),
-                        () -> crystalTicks > -1,
+                        () -> TimeFormat.seconds(getCrystalTicks(), TimeFormat.TICKS, 2),
+                        () -> getCrystalTicks() > -1,
                         "0.00"
-                )
+                ).setRefreshPolicy(RefreshPolicy.SERVER_TICK)
         );
 
         OverlayManager.register(new TextOverlay(
@@ -39,10 +42,10 @@ public class TickTimers {
                                 (val) -> ModConfig.padTicks = val
                         ),
                         "Storm pad ticks",
-                        () -> String.format("%.2f", (float) padTicks / 20),
-                        () -> padTicks > -1,
+                        () -> TimeFormat.seconds(getPadTicks(), TimeFormat.TICKS, 2),
+                        () -> padStart > -1,
                         "0.00"
-                )
+                ).setRefreshPolicy(RefreshPolicy.SERVER_TICK)
         );
 
         OverlayManager.register(new TextOverlay(
@@ -51,10 +54,10 @@ public class TickTimers {
                                 (val) -> ModConfig.crushTicks = val
                         ),
                         "Storm crush ticks",
-                        () -> String.format("%.2f", (float) crushTicks / 20),
-                        () -> crushTicks > -1,
+                        () -> TimeFormat.seconds(getCrushTicks(), TimeFormat.TICKS, 2),
+                        () -> getCrushTicks() > -1,
                         "0.00"
-                )
+                ).setRefreshPolicy(RefreshPolicy.SERVER_TICK)
         );
 
         OverlayManager.register(new TextOverlay(
@@ -64,9 +67,9 @@ public class TickTimers {
                         ),
                         "Goldor start timer",
                         this::getStartTimer,
-                        () -> barrierTicks > -1,
+                        () -> barrierStart > -1,
                         "0.00"
-                )
+                ).setRefreshInterval(10)
         );
 
         OverlayManager.register(new TextOverlay(
@@ -76,52 +79,60 @@ public class TickTimers {
                 ),
                 "Goldor barrier ticks",
                 () -> {
+                    long barrierTicks = getBarrierTicks();
                     if (ModConfig.barrierTicksDynamicColors) {
                         String prefix = barrierTicks > 40 ? "&a" : barrierTicks > 20 ? "&e" : "&c";
-                        return (prefix + String.format("%.2f", (float) barrierTicks / 20));
+                        return TimeFormat.seconds(prefix, barrierTicks, TimeFormat.TICKS, 2, "");
                     }
 
-                    return String.format("%.2f", (float) barrierTicks / 20);
+                    return TimeFormat.seconds(barrierTicks, TimeFormat.TICKS, 2);
                 },
-                () -> barrierTicks > -1,
+                () -> barrierStart > -1,
                 "0.00"
-                )
+                ).setRefreshPolicy(RefreshPolicy.SERVER_TICK)
         );
-    }
 
-    @SubscribeEvent(receiveCanceled = true)
-    public void onChatReceived(ChatPacketEvent e) {
-        if (e.message.matches("^\\[BOSS] Maxor: THAT BEAM! IT HURTS! IT HURTS!!$") || e.message.matches("^\\[BOSS] Maxor: YOU TRICKED ME!$")) crystalTicks = 36;
-        if (e.message.matches("^\\[BOSS] Storm: Pathetic Maxor, just like expected\\.$")) padTicks = 20;
-        if (e.message.matches("^\\[BOSS] Storm: I should have known that I stood no chance\\.$")) {
-            padTicks = -1;
+        ChatRules.register("^\\[BOSS] Maxor: THAT BEAM! IT HURTS! IT HURTS!!$", m -> crystalStart = TickClock.getTicks());
+        ChatRules.register("^\\[BOSS] Maxor: YOU TRICKED ME!$", m -> crystalStart = TickClock.getTicks());
+        ChatRules.register("^\\[BOSS] Storm: Pathetic Maxor, just like expected\\.$", m -> padStart = TickClock.getTicks());
+        ChatRules.register("^\\[BOSS] Storm: I should have known that I stood no chance\\.$", m -> {
+            padStart = -1;
             startTime = System.currentTimeMillis() + 5200;
-        }
-        if (e.message.matches("^\\[BOSS] Storm: Oof") || e.message.matches("\\[BOSS] Storm: Ouch, that hurt!$")) crushTicks = 20;
-        if (e.message.matches("^\\[BOSS] Goldor: Who dares trespass into my domain\\?$")) barrierTicks = 60;
-        if (e.message.matches("^The Core entrance is opening!$")) barrierTicks = -1;
+        });
+        ChatRules.register("^\\[BOSS] Storm: Oof", m -> crushStart = TickClock.getTicks());
+        ChatRules.register("\\[BOSS] Storm: Ouch, that hurt!$", m -> crushStart = TickClock.getTicks());
+        ChatRules.register("^\\[BOSS] Goldor: Who dares trespass into my domain\\?$", m -> barrierStart = TickClock.getTicks());
+        ChatRules.register("^The Core entrance is opening!$", m -> barrierStart = -1);
     }
 
-    @SubscribeEvent
-    public void onServerTicks(ServerTickEvent event) {
-        if (crystalTicks >= 0) crystalTicks--;
-        if (crushTicks >= 0) crushTicks--;
-
-        if (padTicks > -1) {
-            padTicks--;
-            if (padTicks == 0) padTicks = 40;
-        }
-        if (barrierTicks > -1) {
-            barrierTicks--;
-            if (barrierTicks == 0) barrierTicks = 60;
-        }
+    private static long elapsed(long start) {
+        return TickClock.getTicks() - start;
+    }
+
+    private long getCrystalTicks() {
+        return crystalStart < 0 ? -1 : Math.max(-1, 36 - elapsed(crystalStart));
+    }
+
+    private long getCrushTicks() {
+        return crushStart < 0 ? -1 : Math.max(-1, 20 - elapsed(crushStart));
+    }
+
+    // 20 ticks until the first pad, then every 40
+    private long getPadTicks() {
+        if (padStart < 0) return -1;
+        long elapsed = elapsed(padStart);
+        return elapsed < 20 ? 20 - elapsed : 40 - (elapsed - 20) % 40;
+    }
+
+    private long getBarrierTicks() {
+        return barrierStart < 0 ? -1 : 60 - elapsed(barrierStart) % 60;
     }
 
     private String getStartTimer() {
         if (startTime < 0) return "";
         long remaining = startTime - System.currentTimeMillis();
         if (remaining < 0) startTime = -1;
-        return String.format("%.2f", (float) remaining / 1000);
+        return TimeFormat.seconds(remaining, TimeFormat.MILLIS, 2);
     }
 
     @SubscribeEvent
@@ -131,10 +142,10 @@ public class TickTimers {
     public void onDisconnect(FMLNetworkEvent.ClientDisconnectionFromServerEvent e ) {reset();}
 
     private void reset() {
-        this.crystalTicks = -1;
-        this.padTicks = -1;
-        this.crushTicks = -1;
+        this.crystalStart = -1;
+        this.padStart = -1;
+        this.crushStart = -1;
         this.startTime = -1;
-        this.barrierTicks = -1;
+        this.barrierStart = -1;
     }
 }
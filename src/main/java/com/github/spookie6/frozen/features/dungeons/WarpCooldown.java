@@ -3,9 +3,9 @@ package com.github.spookie6.frozen.features.dungeons;
 import com.github.spookie6.frozen.utils.overlays.BooleanConfigBinding;
 import com.github.spookie6.frozen.utils.overlays.OverlayManager;
 import com.github.spookie6.frozen.utils.overlays.TextOverlay;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import com.github.spookie6.frozen.config.ModConfig;
-import com.github.spookie6.frozen.events.impl.ChatPacketEvent;
+import com.github.spookie6.frozen.events.ChatRules;
+import com.github.spookie6.frozen.utils.TimeFormat;
 
 public class WarpCooldown  {
 
@@ -16,19 +16,16 @@ public class WarpCooldown  {
                                 (val) -> ModConfig.warpCooldown = val
                         ),
                         "Warp cooldown",
-                        () -> String.format("Warp Cooldown: %.2fs", (float) (lastWarp + 30000 - System.currentTimeMillis()) / 1000),
+                        () -> TimeFormat.seconds("Warp Cooldown: ", lastWarp + 30000 - System.currentTimeMillis(), TimeFormat.MILLIS, 2, "s"),
                         () -> lastWarp + 30000 > System.currentTimeMillis(),
                         "Warp Cooldown: 30s"
-                )
+                ).setRefreshInterval(10)
         );
+
+        ChatRules.register("^-*\\n\\[[^]]+] (\\w+) entered (?:MM )?\\w+ Catacombs, Floor (\\w+)!\\n-*$", m -> {
+            if (lastWarp + 30000 < System.currentTimeMillis()) lastWarp = System.currentTimeMillis();
+        });
     }
 
     private long lastWarp = -1;
-
-    @SubscribeEvent(receiveCanceled = true)
-    public void onChatPacket(ChatPacketEvent e) {
-        if (e.message.matches("^-*\\n\\[[^]]+] (\\w+) entered (?:MM )?\\w+ Catacombs, Floor (\\w+)!\\n-*$") && lastWarp + 30000 < System.currentTimeMillis()) {
-            lastWarp = System.currentTimeMillis();
-        }
-    }
 }
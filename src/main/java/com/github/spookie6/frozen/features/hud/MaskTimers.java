@@ -2,6 +2,7 @@ package com.github.spookie6.frozen.features.hud;
 
 import com.github.spookie6.frozen.config.ModConfig;
 import com.github.spookie6.frozen.utils.ChatUtils;
+import com.github.spookie6.frozen.utils.TimeFormat;
 import com.github.spookie6.frozen.utils.overlays.BooleanConfigBinding;
 import com.github.spookie6.frozen.utils.overlays.IntegerConfigBinding;
 import com.github.spookie6.frozen.utils.overlays.OverlayManager;
@@ -13,9 +14,6 @@ import com.github.spookie6.frozen.events.impl.ChatPacketEvent;
 import com.github.spookie6.frozen.utils.skyblock.Island;
 import com.github.spookie6.frozen.utils.skyblock.LocationUtils;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class MaskTimers {
     public MaskTimers() {
         OverlayManager.register(new TextOverlay(
@@ -31,7 +29,8 @@ public class MaskTimers {
                         },
                         "§9Bonzo:#§r§a" + ModConfig.maskTimerReadyTitle + "§r\n§fSpirit:#§r§a" + ModConfig.maskTimerReadyTitle + "§r\n§cPhoenix:#§r§a" + ModConfig.maskTimerReadyTitle + "§r"
                 ).setRightAlign(new BooleanConfigBinding(() -> ModConfig.masktimersRightAlign, (val) -> ModConfig.masktimersRightAlign = val))
-                .setExtraWidth(new IntegerConfigBinding(() -> ModConfig.maskTimersExtraWidth, (val) -> ModConfig.maskTimersExtraWidth = val)));
+                .setExtraWidth(new IntegerConfigBinding(() -> ModConfig.maskTimersExtraWidth, (val) -> ModConfig.maskTimersExtraWidth = val))
+                .setRefreshInterval(100));
 
         OverlayManager.register(new TextOverlay(
                         new BooleanConfigBinding(
@@ -39,10 +38,10 @@ public class MaskTimers {
                                 (val) -> ModConfig.invincibilityTimer = val
                         ),
                         "Invincibility timer",
-                        () -> String.format("%.2fs", (float) (poppedAt + 3000 - System.currentTimeMillis()) / 1000),
+                        () -> TimeFormat.seconds("", poppedAt + 3000 - System.currentTimeMillis(), TimeFormat.MILLIS, 2, "s"),
                         () -> LocationUtils.isInSkyblock && (poppedAt + 3000) > System.currentTimeMillis(),
                         "3.00s"
-                )
+                ).setRefreshInterval(10)
         );
     }
 
@@ -52,16 +51,24 @@ public class MaskTimers {
 
     private static long poppedAt = -1;
 
-    protected String getText() {
-        List<String> lines = new ArrayList<>();
+    private final StringBuilder text = new StringBuilder();
 
+    protected String getText() {
         long now = System.currentTimeMillis();
+        text.setLength(0);
 
-        if (LocationUtils.currentArea.isArea(Island.Dungeon)) lines.add("§9Bonzo:#§r" + (bonzoTime - now > 0 ? "§7" + String.format("%.1f", (float) (bonzoTime - now) / 1000) + "§r" : "§a" + ModConfig.maskTimerReadyTitle + "§r"));
-        lines.add("§fSpirit:#§r" + (spiritTime - now > 0 ? "§7" + String.format("%.1f", (float) (spiritTime - now) / 1000) + "§r" : "§a" + ModConfig.maskTimerReadyTitle + "§r"));
-        lines.add("§cPhoenix:#§r" + (phoenixTime - now > 0 ? "§7" + String.format("%.1f", (float) (phoenixTime - now) / 1000) + "§r" : "§a" + ModConfig.maskTimerReadyTitle + "§r"));
+        if (LocationUtils.currentArea.isArea(Island.Dungeon)) appendLine("§9Bonzo:#§r", bonzoTime - now);
+        appendLine("§fSpirit:#§r", spiritTime - now);
+        appendLine("§cPhoenix:#§r", phoenixTime - now);
+
+        return text.toString();
+    }
 
-        return String.join("\n", lines);
+    private void appendLine(String name, long remaining) {
+        if (text.length() > 0) text.append('\n');
+        text.append(name);
+        if (remaining > 0) TimeFormat.appendSeconds(text.append("§7"), remaining, TimeFormat.MILLIS, 1).append("§r");
+        else text.append("§a").append(ModConfig.maskTimerReadyTitle).append("§r");
     }
 
     @SubscribeEvent(receiveCanceled = true)
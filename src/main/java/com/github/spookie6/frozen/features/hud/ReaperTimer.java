@@ -11,6 +11,7 @@ import net.minecraftforge.client.event.sound.PlaySoundEvent;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import com.github.spookie6.frozen.utils.skyblock.ItemUtils;
+import com.github.spookie6.frozen.utils.TimeFormat;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 import static com.github.spookie6.frozen.Frozen.mc;
@@ -24,10 +25,10 @@ public class ReaperTimer  {
                                 (val) -> ModConfig.reaperTimer = val
                         ),
                         "Reaper timer",
-                        () -> String.format("%.2f", (float) (reaperUsed + 6000 - System.currentTimeMillis()) /1000),
+                        () -> TimeFormat.seconds(reaperUsed + 6000 - System.currentTimeMillis(), TimeFormat.MILLIS, 2),
                         () -> reaperUsed + 6000 - System.currentTimeMillis() >= 0,
                         "6.00"
-                )
+                ).setRefreshInterval(10)
         );
     }
 
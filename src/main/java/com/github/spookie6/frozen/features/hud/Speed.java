@@ -3,6 +3,7 @@ package com.github.spookie6.frozen.features.hud;
 import com.github.spookie6.frozen.config.ModConfig;
 import com.github.spookie6.frozen.utils.overlays.BooleanConfigBinding;
 import com.github.spookie6.frozen.utils.overlays.OverlayManager;
+import com.github.spookie6.frozen.utils.overlays.RefreshPolicy;
 import com.github.spookie6.frozen.utils.overlays.TextOverlay;
 import com.github.spookie6.frozen.utils.skyblock.LocationUtils;
 import net.minecraft.client.entity.EntityPlayerSP;
@@ -21,7 +22,7 @@ public class Speed {
                         this::getText,
                         () -> LocationUtils.isInSkyblock,
                 "✦500"
-                )
+                ).setRefreshPolicy(RefreshPolicy.CLIENT_TICK)
         );
     }
 
@@ -6,47 +6,53 @@ import com.github.spookie6.frozen.utils.ChatUtils;
 import com.github.spookie6.frozen.utils.SlotBindingUtils;
 import com.github.spookie6.frozen.utils.render.Color;
 import com.github.spookie6.frozen.utils.render.GuiRenderer;
+import com.github.spookie6.frozen.utils.skyblock.LocationUtils;
+import com.github.spookie6.frozen.utils.skyblock.dungeon.DungeonEnums;
 import net.minecraft.client.gui.inventory.GuiInventory;
 import net.minecraft.inventory.Slot;
 import net.minecraftforge.client.event.GuiScreenEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.lwjgl.input.Keyboard;
 import org.lwjgl.input.Mouse;
 
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Set;
-
 public class SlotBinding {
     Slot bindingSlot = null;
 
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent e) {
+        if (e.phase != TickEvent.Phase.END || !ModConfig.slotbinding) return;
+
+        DungeonEnums.Class clazz = null;
+        if (LocationUtils.currentDungeon != null) {
+            DungeonEnums.DungeonPlayer player = LocationUtils.currentDungeon.getCurrentDungeonPlayer();
+            if (player != null) clazz = player.clazz;
+        }
+        SlotBindingUtils.updateAutoPreset(LocationUtils.currentArea, clazz);
+    }
+
     @SubscribeEvent
     public void onGuiDraw(GuiScreenEvent.DrawScreenEvent.Post e) {
         if (!ModConfig.slotbinding) return;
         if (!(e.gui instanceof GuiInventory)) return;
         GuiInventory gui = (GuiInventory) e.gui;
 
-        for (Map.Entry<Integer, Integer> entry : SlotBindingUtils.colorMap.entrySet()) {
-            int slotIndex = entry.getKey();
-            int colorId = entry.getValue();
+        for (long bound = SlotBindingUtils.getBoundSlots(); bound != 0; bound &= bound - 1) {
+            int slotIndex = Long.numberOfTrailingZeros(bound);
 
             Slot slot = gui.inventorySlots.inventorySlots.get(slotIndex); // assuming Forge 1.8.9
-            OneColor color = ModConfig.slotbindingUniqueColors ? SlotBindingUtils.getColorById(colorId) : ModConfig.slotbindingColor; // a helper method returning actual RGB colors
+            OneColor color = ModConfig.slotbindingUniqueColors ? SlotBindingUtils.getColorById(SlotBindingUtils.getColorId(slotIndex)) : ModConfig.slotbindingColor; // a helper method returning actual RGB colors
 
-            GuiRenderer.drawSlotOutline(e.gui, slot, color, ModConfig.slotbindingOutlineThickness);
+            GuiRenderer.batchSlotOutline(e.gui, slot, color);
         }
 
-        if (bindingSlot != null) GuiRenderer.drawSlotOutline(e.gui, bindingSlot, Color.MINECRAFT_AQUA.getColor(), ModConfig.slotbindingOutlineThickness);
+        if (bindingSlot != null) GuiRenderer.batchSlotOutline(e.gui, bindingSlot, Color.MINECRAFT_AQUA.getColor());
 
         if (gui.getSlotUnderMouse() != null) {
-            Set<Integer> boundSlots = SlotBindingUtils.getDirectlyConnectedSlots(gui.getSlotUnderMouse().slotNumber);
-            if (!boundSlots.isEmpty()) {
-                Iterator<Integer> iterator = boundSlots.iterator();
-                while(iterator.hasNext()) {
-                    int n = iterator.next();
-                    GuiRenderer.drawLineBetweenSlots(e.gui, gui.inventorySlots.getSlot(n), gui.getSlotUnderMouse(), ModConfig.slotbindingUniqueColors ? SlotBindingUtils.getColorById(SlotBindingUtils.colorMap.get(n)) : ModConfig.slotbindingColor, ModConfig.slotbindingOutlineThickness);
-                }
+            long boundSlots = SlotBindingUtils.getDirectlyConnectedSlots(gui.getSlotUnderMouse().slotNumber);
+            for (; boundSlots != 0; boundSlots &= boundSlots - 1) {
+                int n = Long.numberOfTrailingZeros(boundSlots);
+                GuiRenderer.batchLineBetweenSlots(e.gui, gui.inventorySlots.getSlot(n), gui.getSlotUnderMouse(), ModConfig.slotbindingUniqueColors ? SlotBindingUtils.getColorById(SlotBindingUtils.getColorId(n)) : ModConfig.slotbindingColor);
             }
         }
 
@@ -61,18 +67,17 @@ public class SlotBinding {
             if (bindingSlot == null) bindingSlot = gui.getSlotUnderMouse();
             else {
                 if (gui.getSlotUnderMouse() != null) {
-                    GuiRenderer.drawLineBetweenSlots(e.gui, bindingSlot, gui.getSlotUnderMouse(), Color.MINECRAFT_AQUA.getColor(), ModConfig.slotbindingOutlineThickness);
-                    GuiRenderer.drawSlotOutline(e.gui, gui.getSlotUnderMouse(), Color.MINECRAFT_AQUA.getColor(), ModConfig.slotbindingOutlineThickness);
+                    GuiRenderer.batchLineBetweenSlots(e.gui, bindingSlot, gui.getSlotUnderMouse(), Color.MINECRAFT_AQUA.getColor());
+                    GuiRenderer.batchSlotOutline(e.gui, gui.getSlotUnderMouse(), Color.MINECRAFT_AQUA.getColor());
                 }
             }
-        } else {
-            if (bindingSlot == null) return;
-            Slot slotUnderMouse = gui.getSlotUnderMouse();
-            if (slotUnderMouse == null) return;
-            SlotBindingUtils.addBinding(bindingSlot.slotNumber, slotUnderMouse.slotNumber);
+        } else if (bindingSlot != null && gui.getSlotUnderMouse() != null) {
+            SlotBindingUtils.addBinding(bindingSlot.slotNumber, gui.getSlotUnderMouse().slotNumber);
             bindingSlot = null;
             SlotBindingUtils.saveData();
         }
+
+        GuiRenderer.flushSlotBatch(e.gui, ModConfig.slotbindingOutlineThickness);
     }
 
     @SubscribeEvent
@@ -90,13 +95,11 @@ public class SlotBinding {
 
         Slot slotUnderMouse = gui.getSlotUnderMouse();
         if (slotUnderMouse == null) return;
-        Map<Integer, Set<Integer>> bindings = SlotBindingUtils.getCurrentBindings();
-
-        Set<Integer> bindingsUnderMouse = bindings.getOrDefault(slotUnderMouse.slotNumber, new HashSet<Integer>());
-        if (bindingsUnderMouse.isEmpty()) return;
+        long bindingsUnderMouse = SlotBindingUtils.getDirectlyConnectedSlots(slotUnderMouse.slotNumber);
+        if (bindingsUnderMouse == 0) return;
         ChatUtils.sendModInfo("Binding found.");
 
-        int connectedSlot = bindingsUnderMouse.iterator().next();
+        int connectedSlot = Long.numberOfTrailingZeros(bindingsUnderMouse);
 
         int hotbarSlot = -1;
         int inventorySlot = -1;
@@ -0,0 +1,12 @@
+package com.github.spookie6.frozen.mixin;
+
+import net.minecraft.client.gui.FontRenderer;
+import net.minecraft.util.ResourceLocation;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(FontRenderer.class)
+public interface AccessorFontRenderer {
+    @Accessor("locationFontTexture")
+    ResourceLocation getLocationFontTexture_frozen();
+}
@@ -0,0 +1,42 @@
+package com.github.spookie6.frozen.mixin;
+
+import com.github.spookie6.frozen.events.EventProfiler;
+import net.minecraftforge.fml.common.ModContainer;
+import net.minecraftforge.fml.common.eventhandler.ASMEventHandler;
+import net.minecraftforge.fml.common.eventhandler.Event;
+import net.minecraftforge.fml.common.eventhandler.IEventListener;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import java.lang.reflect.Method;
+
+@Mixin(value = ASMEventHandler.class, remap = false)
+public abstract class MixinASMEventHandler {
+    @Unique
+    private EventProfiler.Slot frozen$slot;
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void onInit(Object target, Method method, ModContainer owner, CallbackInfo ci) {
+        frozen$slot = EventProfiler.slotFor(target, method);
+    }
+
+    @Redirect(method = "invoke", at = @At(value = "INVOKE", target = "Lnet/minecraftforge/fml/common/eventhandler/IEventListener;invoke(Lnet/minecraftforge/fml/common/eventhandler/Event;)V"))
+    private void onInvoke(IEventListener handler, Event event) {
+        EventProfiler.Slot slot = frozen$slot;
+        if (slot == null || !EventProfiler.enabled) {
+            handler.invoke(event);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            handler.invoke(event);
+        } finally {
+            slot.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.spookie6.frozen.mixin;
+
+import com.github.spookie6.frozen.utils.EntityIndex;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.network.play.server.S04PacketEntityEquipment;
+import net.minecraft.network.play.server.S13PacketDestroyEntities;
+import net.minecraft.network.play.server.S1CPacketEntityMetadata;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+// Injected at TAIL so the packet has been applied and we are on the client thread.
+@Mixin(NetHandlerPlayClient.class)
+public abstract class MixinNetHandlerPlayClient {
+    @Inject(method = "handleEntityMetadata", at = @At("TAIL"))
+    private void onEntityMetadata(S1CPacketEntityMetadata packet, CallbackInfo ci) {
+        if (Minecraft.getMinecraft().theWorld == null) return;
+        EntityIndex.onEntityUpdate(Minecraft.getMinecraft().theWorld.getEntityByID(packet.getEntityId()));
+    }
+
+    @Inject(method = "handleEntityEquipment", at = @At("TAIL"))
+    private void onEntityEquipment(S04PacketEntityEquipment packet, CallbackInfo ci) {
+        if (Minecraft.getMinecraft().theWorld == null) return;
+        EntityIndex.onEntityUpdate(Minecraft.getMinecraft().theWorld.getEntityByID(packet.getEntityID()));
+    }
+
+    @Inject(method = "handleDestroyEntities", at = @At("TAIL"))
+    private void onDestroyEntities(S13PacketDestroyEntities packet, CallbackInfo ci) {
+        for (int id : packet.getEntityIDs()) EntityIndex.onEntityRemoved(id);
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.spookie6.frozen.mixin;
 
+import com.github.spookie6.frozen.events.EventDispatcher;
 import com.github.spookie6.frozen.events.impl.*;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -24,11 +25,11 @@ public abstract class MixinNetworkManager extends SimpleChannelInboundHandler<Pa
 
     @Inject(method = "channelRead0*", at = @At("HEAD"), cancellable = true)
     private void onReceivePacket(ChannelHandlerContext context, Packet<?> packet, CallbackInfo ci) {
-        MinecraftForge.EVENT_BUS.post(new PacketEvent.Received(packet));
+        EventDispatcher.post(new PacketEvent.Received(packet));
 
-        if (packet instanceof S32PacketConfirmTransaction) MinecraftForge.EVENT_BUS.post(new ServerTickEvent());
-        if (packet instanceof S0DPacketCollectItem) MinecraftForge.EVENT_BUS.post(new CollectItemEvent((S0DPacketCollectItem) packet));
-        if (packet instanceof S38PacketPlayerListItem) MinecraftForge.EVENT_BUS.post(new TablistUpdateEvent((S38PacketPlayerListItem) packet));
-        if (packet instanceof S02PacketChat) MinecraftForge.EVENT_BUS.post(new ChatPacketEvent(((S02PacketChat) packet).getChatComponent().getUnformattedText(), (S02PacketChat) packet));
+        if (packet instanceof S32PacketConfirmTransaction) EventDispatcher.post(new ServerTickEvent());
+        if (packet instanceof S0DPacketCollectItem) EventDispatcher.post(new CollectItemEvent((S0DPacketCollectItem) packet));
+        if (packet instanceof S38PacketPlayerListItem) EventDispatcher.post(new TablistUpdateEvent((S38PacketPlayerListItem) packet));
+        if (packet instanceof S02PacketChat) EventDispatcher.post(new ChatPacketEvent(((S02PacketChat) packet).getChatComponent().getUnformattedText(), (S02PacketChat) packet));
     }
 }
@@ -0,0 +1,114 @@
+package com.github.spookie6.frozen.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary copy of a json config file, written next to it by the {@link ConfigWriter} and
+ * preferred on startup because reading it is a single channel read and a buffer walk instead of
+ * reflective Gson parsing. The file is ignored (and the json used instead) when it is missing, has another
+ * format version, fails its checksum or is older than the json, e.g. after a manual json edit.
+ * <p>
+ * Layout: magic, version, payload length, payload crc32, payload.
+ */
+public class BinarySnapshot<T> {
+    private static final int MAGIC = 0x46525A4E; // FRZN
+    private static final int HEADER_SIZE = 16;
+
+    private final File file;
+    private final File jsonFile;
+    private final int version;
+    private final Encoder<T> encoder;
+    private final Decoder<T> decoder;
+
+    public BinarySnapshot(File jsonFile, int version, Encoder<T> encoder, Decoder<T> decoder) {
+        String name = jsonFile.getName();
+        this.file = new File(jsonFile.getParentFile(), name.substring(0, name.lastIndexOf('.')) + ".bin");
+        this.jsonFile = jsonFile;
+        this.version = version;
+        this.encoder = encoder;
+        this.decoder = decoder;
+    }
+
+    /** Returns the decoded snapshot, or null when the json has to be loaded instead. */
+    public T load() {
+        if (!file.exists() || jsonFile.exists() && jsonFile.lastModified() > file.lastModified()) return null;
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // Read into the heap rather than mapping, a mapped file can't be replaced on Windows until the mapping is collected
+            buffer = ByteBuffer.allocate((int) Math.min(channel.size(), Integer.MAX_VALUE));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) return null;
+            }
+            buffer.flip();
+        } catch (IOException e) {
+            return null;
+        }
+
+        try {
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != version) return null;
+
+            int length = buffer.getInt();
+            int crc = buffer.getInt();
+            if (length != buffer.remaining()) return null;
+
+            CRC32 checksum = new CRC32();
+            checksum.update(buffer.duplicate());
+            if ((int) checksum.getValue() != crc) return null;
+
+            return decoder.decode(buffer);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public void save(T value) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        encoder.encode(new DataOutputStream(payload), value);
+        byte[] bytes = payload.toByteArray();
+
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(version).putInt(bytes.length).putInt((int) checksum.getValue());
+        header.flip();
+
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(file.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.write(new ByteBuffer[]{header, ByteBuffer.wrap(bytes)});
+        }
+        ConfigWriter.replace(temp, target);
+    }
+
+    public static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public interface Encoder<T> {
+        void encode(DataOutputStream out, T value) throws IOException;
+    }
+
+    public interface Decoder<T> {
+        T decode(ByteBuffer in);
+    }
+}
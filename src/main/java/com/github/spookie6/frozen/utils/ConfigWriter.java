@@ -0,0 +1,118 @@
+package com.github.spookie6.frozen.utils;
+
+import com.github.spookie6.frozen.config.ModConfig;
+import com.google.gson.Gson;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind persistence for the json config files. Callers mark a file dirty together with a
+ * snapshot supplier, repeated changes to the same file are coalesced and written every
+ * {@link ModConfig#configSaveInterval} seconds, on {@link #flush()} and on shutdown.
+ * <p>
+ * Snapshots are taken on the calling (client) thread so the live objects are never read
+ * concurrently, serializing and the atomic temp file + move write happen on a background thread.
+ */
+public class ConfigWriter {
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Frozen config writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Taken on the client thread, returns the write to run in the background.
+    private static final Map<File, Supplier<Runnable>> pending = new LinkedHashMap<>();
+    private static long lastFlush = System.currentTimeMillis();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ConfigWriter::flushAndWait, "Frozen config shutdown"));
+    }
+
+    public static void markDirty(File file, Gson gson, Supplier<Object> snapshot) {
+        markDirty(file, gson, snapshot, null);
+    }
+
+    /** Same as {@link #markDirty(File, Gson, Supplier)}, also writing a {@link BinarySnapshot} after the json. */
+    public static synchronized <T> void markDirty(File file, Gson gson, Supplier<T> snapshot, BinarySnapshot<T> binary) {
+        pending.put(file, () -> {
+            T value = snapshot.get();
+            return () -> write(file, gson, value, binary);
+        });
+    }
+
+    /** Writes every dirty file in the background. */
+    public static void flush() {
+        List<Runnable> writes = takeSnapshots();
+        lastFlush = System.currentTimeMillis();
+        for (Runnable write : writes) executor.execute(write);
+    }
+
+    /** Writes every dirty file and blocks until all queued writes are done, used on shutdown. */
+    public static void flushAndWait() {
+        flush();
+        try {
+            executor.submit(() -> {}).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static synchronized List<Runnable> takeSnapshots() {
+        List<Runnable> writes = new ArrayList<>(pending.size());
+        for (Supplier<Runnable> snapshot : pending.values()) writes.add(snapshot.get());
+        pending.clear();
+        return writes;
+    }
+
+    private static <T> void write(File file, Gson gson, T snapshot, BinarySnapshot<T> binary) {
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(file.getName() + ".tmp");
+
+        try {
+            Files.createDirectories(target.getParent());
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                gson.toJson(snapshot, writer);
+            }
+            replace(temp, target);
+
+            if (binary != null) binary.save(snapshot);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent e) {
+        if (e.phase != TickEvent.Phase.END) return;
+        if (System.currentTimeMillis() - lastFlush < ModConfig.configSaveInterval * 1000L) return;
+
+        synchronized (ConfigWriter.class) {
+            if (pending.isEmpty()) return;
+        }
+        flush();
+    }
+}
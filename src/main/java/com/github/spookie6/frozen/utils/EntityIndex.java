@@ -0,0 +1,103 @@
+package com.github.spookie6.frozen.utils;
+
+import com.github.spookie6.frozen.utils.skyblock.ItemUtils;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityArmorStand;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+import static com.github.spookie6.frozen.Frozen.mc;
+
+/**
+ * Incremental index of the loaded entities. Entities are tested against the registered queries
+ * when they join the world and again when their metadata or equipment changes, so features can
+ * read their matching entities every frame without scanning {@code loadedEntityList}.
+ */
+public class EntityIndex {
+    private static final List<Query> queries = new ArrayList<>();
+    private static final Map<String, EntityPlayer> players = new HashMap<>();
+
+    public static Query register(Predicate<Entity> predicate) {
+        Query query = new Query(predicate);
+        queries.add(query);
+        if (mc.theWorld != null) {
+            for (Entity entity : mc.theWorld.loadedEntityList) query.update(entity);
+        }
+        return query;
+    }
+
+    public static Predicate<Entity> nameEndsWith(String suffix) {
+        return entity -> entity.hasCustomName() && entity.getCustomNameTag().endsWith(suffix);
+    }
+
+    public static Predicate<Entity> helmetId(String skyblockId) {
+        return entity -> entity instanceof EntityArmorStand && skyblockId.equals(ItemUtils.getSkyBlockID(((EntityArmorStand) entity).getEquipmentInSlot(4)));
+    }
+
+    public static EntityPlayer getPlayer(String name) {
+        EntityPlayer player = players.get(name);
+        if (player != null && (player.isDead || player.worldObj != mc.theWorld)) {
+            players.remove(name);
+            return null;
+        }
+        return player;
+    }
+
+    public static void onEntityUpdate(Entity entity) {
+        if (entity == null) return;
+        for (int i = 0; i < queries.size(); i++) queries.get(i).update(entity);
+    }
+
+    public static void onEntityRemoved(int entityId) {
+        for (int i = 0; i < queries.size(); i++) queries.get(i).matches.remove(entityId);
+    }
+
+    public static void clear() {
+        players.clear();
+        for (int i = 0; i < queries.size(); i++) queries.get(i).matches.clear();
+    }
+
+    // Indexed before other subscribers so they can already look the entity up
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onEntityJoin(EntityJoinWorldEvent e) {
+        if (!e.world.isRemote) return;
+        if (e.entity instanceof EntityPlayer) players.put(((EntityPlayer) e.entity).getDisplayNameString(), (EntityPlayer) e.entity);
+        onEntityUpdate(e.entity);
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload e) {clear();}
+
+    public static class Query {
+        private final Predicate<Entity> predicate;
+        private final Map<Integer, Entity> matches = new LinkedHashMap<>();
+
+        private Query(Predicate<Entity> predicate) {
+            this.predicate = predicate;
+        }
+
+        private void update(Entity entity) {
+            if (predicate.test(entity)) matches.put(entity.getEntityId(), entity);
+            else matches.remove(entity.getEntityId());
+        }
+
+        /**
+         * Entities that currently match. Entities that left the world without a destroy packet
+         * (chunk unloads) are dropped here.
+         */
+        public Collection<Entity> getEntities() {
+            Iterator<Entity> it = matches.values().iterator();
+            while (it.hasNext()) {
+                Entity entity = it.next();
+                if (entity.isDead || entity.worldObj != mc.theWorld) it.remove();
+            }
+            return matches.values();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.spookie6.frozen.utils;
+
+import java.util.Arrays;
+
+/**
+ * Streaming estimate of a single quantile with the P² algorithm (Jain & Chlamtac): five markers
+ * are moved along with every value using piecewise parabolic interpolation, so memory stays
+ * constant and no values are stored or sorted. Exact up to five values, after that the markers
+ * need a few dozen values to settle, so small samples are better served by an exact sort.
+ */
+public class P2Quantile {
+    private final double p;
+    private final double[] heights = new double[5];
+    private final double[] positions = new double[5];
+    private final double[] desired = new double[5];
+    private final double[] increments;
+    private int count = 0;
+
+    public P2Quantile(double p) {
+        this.p = p;
+        this.increments = new double[]{0, p / 2, p, (1 + p) / 2, 1};
+    }
+
+    public void add(double x) {
+        if (count < 5) {
+            heights[count++] = x;
+            if (count == 5) {
+                Arrays.sort(heights);
+                for (int i = 0; i < 5; i++) positions[i] = i + 1;
+                desired[0] = 1;
+                desired[1] = 1 + 2 * p;
+                desired[2] = 1 + 4 * p;
+                desired[3] = 3 + 2 * p;
+                desired[4] = 5;
+            }
+            return;
+        }
+
+        int k;
+        if (x < heights[0]) {
+            heights[0] = x;
+            k = 0;
+        } else if (x >= heights[4]) {
+            heights[4] = x;
+            k = 3;
+        } else {
+            k = 0;
+            while (x >= heights[k + 1]) k++;
+        }
+
+        for (int i = k + 1; i < 5; i++) positions[i]++;
+        for (int i = 0; i < 5; i++) desired[i] += increments[i];
+
+        for (int i = 1; i < 4; i++) {
+            double d = desired[i] - positions[i];
+            if (d >= 1 && positions[i + 1] - positions[i] > 1 || d <= -1 && positions[i - 1] - positions[i] < -1) {
+                int s = d > 0 ? 1 : -1;
+                double parabolic = parabolic(i, s);
+                heights[i] = heights[i - 1] < parabolic && parabolic < heights[i + 1] ? parabolic : linear(i, s);
+                positions[i] += s;
+            }
+        }
+        count++;
+    }
+
+    private double parabolic(int i, int s) {
+        return heights[i] + s / (positions[i + 1] - positions[i - 1]) * (
+                (positions[i] - positions[i - 1] + s) * (heights[i + 1] - heights[i]) / (positions[i + 1] - positions[i]) +
+                (positions[i + 1] - positions[i] - s) * (heights[i] - heights[i - 1]) / (positions[i] - positions[i - 1]));
+    }
+
+    private double linear(int i, int s) {
+        return heights[i] + s * (heights[i + s] - heights[i]) / (positions[i + s] - positions[i]);
+    }
+
+    public double get() {
+        if (count == 0) return Double.NaN;
+        if (count > 5) return heights[2];
+
+        double[] values = Arrays.copyOf(heights, count);
+        Arrays.sort(values);
+        return values[Math.min(count - 1, (int) Math.round(p * (count - 1)))];
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
@@ -2,15 +2,17 @@ package com.github.spookie6.frozen.utils;
 
 import cc.polyfrost.oneconfig.config.core.OneColor;
 import com.github.spookie6.frozen.utils.render.Color;
+import com.github.spookie6.frozen.utils.skyblock.Island;
+import com.github.spookie6.frozen.utils.skyblock.dungeon.DungeonEnums;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static com.github.spookie6.frozen.Frozen.mc;
 
@@ -18,71 +20,61 @@ public class SlotBindingUtils {
     public static final File configFile = new File(mc.mcDataDir, "config/frozen/slotbindings.json");
     public static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
+    public static final String DEFAULT_PRESET = "default";
+
     public static SlotbindingsConfig slotbindingsConfig;
-    public static Map<Integer, Integer> colorMap = new HashMap<>();
+    // Every preset keeps its own prebuilt graph, switching presets only swaps the active reference.
+    private static final Map<String, SlotGraph> graphs = new HashMap<>();
+    private static SlotGraph bindings = new SlotGraph();
+    private static String activePreset = DEFAULT_PRESET;
+    // Area and class the auto preset was last picked for, a manual switch lasts until one of them changes
+    private static Island autoArea = null;
+    private static DungeonEnums.Class autoClass = null;
+    private static final OneColor[] palette = Arrays.stream(Color.values()).map(Color::getColor).toArray(OneColor[]::new);
+
+    private static final BinarySnapshot<SlotbindingsConfig> binary = new BinarySnapshot<>(configFile, 2, SlotBindingUtils::encode, SlotBindingUtils::decode);
 
     public static void init() {
         configFile.getParentFile().mkdirs();
-        if (!configFile.exists()) {
-            slotbindingsConfig = new SlotbindingsConfig();
-        } else {
-            try (FileReader reader = new FileReader(configFile)) {
-                slotbindingsConfig = GSON.fromJson(reader, SlotbindingsConfig.class);
-            } catch (IOException e) {
-                slotbindingsConfig = new SlotbindingsConfig(); // fallback
-            }
+        slotbindingsConfig = binary.load();
+        if (slotbindingsConfig == null) slotbindingsConfig = loadJson();
+
+        graphs.clear();
+        graphs.put(DEFAULT_PRESET, new SlotGraph());
+        rebuildGraph(DEFAULT_PRESET);
+        for (String preset : slotbindingsConfig.presets.keySet()) {
+            graphs.put(preset, new SlotGraph());
+            rebuildGraph(preset);
         }
+        if (!applyPreset(slotbindingsConfig.activePreset)) applyPreset(DEFAULT_PRESET);
+    }
 
-        slotbindingsConfig.current = buildBidirectionalMap(slotbindingsConfig.saved);
-        colorMap = assignGroupColors(slotbindingsConfig.current);
+    private static Map<Integer, List<Integer>> getSavedBindings(String preset) {
+        return preset.equals(DEFAULT_PRESET) ? slotbindingsConfig.saved : slotbindingsConfig.presets.get(preset);
     }
 
-    public static Map<Integer, Set<Integer>> buildBidirectionalMap(Map<Integer, List<Integer>> oneWay) {
-        Map<Integer, Set<Integer>> bidir = new HashMap<>();
-        for (Map.Entry<Integer, List<Integer>> entry : oneWay.entrySet()) {
-            int a = entry.getKey();
-            for (int b : entry.getValue()) {
-                bidir.computeIfAbsent(a, k -> new HashSet<>()).add(b);
-                bidir.computeIfAbsent(b, k -> new HashSet<>()).add(a);
-            }
+    private static void rebuildGraph(String preset) {
+        SlotGraph graph = graphs.get(preset);
+        graph.clear();
+        for (Map.Entry<Integer, List<Integer>> entry : getSavedBindings(preset).entrySet()) {
+            for (int slot : entry.getValue()) graph.add(entry.getKey(), slot);
         }
-        return bidir;
     }
 
-    public static Map<Integer, Integer> assignGroupColors(Map<Integer, Set<Integer>> bindings) {
-        Map<Integer, Integer> colorMap = new HashMap<>();
-        Set<Integer> visited = new HashSet<>();
-        int colorId = 0;
-
-        for (Integer slot : bindings.keySet()) {
-            if (visited.contains(slot)) continue;
-
-            // Start a new group and color it
-            Queue<Integer> queue = new LinkedList<>();
-            queue.add(slot);
-            visited.add(slot);
-
-            while (!queue.isEmpty()) {
-                int current = queue.poll();
-                colorMap.put(current, colorId);
-
-                for (int neighbor : bindings.getOrDefault(current, Collections.emptySet())) {
-                    if (!visited.contains(neighbor)) {
-                        visited.add(neighbor);
-                        queue.add(neighbor);
-                    }
-                }
-            }
+    private static SlotbindingsConfig loadJson() {
+        if (!configFile.exists()) return new SlotbindingsConfig();
 
-            colorId++;
+        try (FileReader reader = new FileReader(configFile)) {
+            return GSON.fromJson(reader, SlotbindingsConfig.class);
+        } catch (IOException e) {
+            return new SlotbindingsConfig(); // fallback
         }
-        return colorMap;
     }
 
     public static OneColor getColorById(int id) {
-        List<OneColor> palette = Arrays.stream(Color.values()).map(Color::getColor).collect(Collectors.toList());
-        return palette.get(id % palette.size());
+        return palette[Math.max(id, 0) % palette.length];
     }
+
     public static void addBinding(int slot1, int slot2) {
         // Determine inventory and hotbar slot
         int inventorySlot = -1;
@@ -103,54 +95,134 @@ public class SlotBindingUtils {
 
         // Remove existing binding for this inventory slot, if any
         // Since saved is Map<Integer, List<Integer>>, remove old hotbar(s)
-        slotbindingsConfig.saved.remove(inventorySlot);
+        Map<Integer, List<Integer>> saved = getSavedBindings(activePreset);
+        saved.remove(inventorySlot);
 
         // Add new binding
-        List<Integer> bindings = new ArrayList<>();
-        bindings.add(hotbarSlot);
-        slotbindingsConfig.saved.put(inventorySlot, bindings);
-
-        slotbindingsConfig.saved.computeIfAbsent(inventorySlot, k -> new ArrayList<>()).add(hotbarSlot);
+        List<Integer> targets = new ArrayList<>();
+        targets.add(hotbarSlot);
+        saved.put(inventorySlot, targets);
 
-        slotbindingsConfig.current = buildBidirectionalMap(slotbindingsConfig.saved);
-        colorMap = assignGroupColors(slotbindingsConfig.current);
+        rebuildGraph(activePreset);
         saveData();
     }
 
     public static void removeBinding(int slot) {
-        // Remove neighbors from the slot’s set
-        Set<Integer> neighbors = slotbindingsConfig.current.remove(slot);
-        if (neighbors == null) return;
-
-        // For each neighbor, remove this slot from their sets
-        for (Integer neighbor : neighbors) {
-            Set<Integer> neighborSet = slotbindingsConfig.current.get(neighbor);
-            if (neighborSet != null) {
-                neighborSet.remove(slot);
-                // If empty after removal, optionally remove the neighbor key itself
-                if (neighborSet.isEmpty()) {
-                    slotbindingsConfig.current.remove(neighbor);
-                }
-            }
-        }
+        if (bindings.getNeighbours(slot) == 0) return;
+        bindings.remove(slot);
 
         // Also remove from saved (one-way map), to keep data consistent:
-        slotbindingsConfig.saved.remove(slot);
-        for (List<Integer> targets : slotbindingsConfig.saved.values()) {
+        Map<Integer, List<Integer>> saved = getSavedBindings(activePreset);
+        saved.remove(slot);
+        for (List<Integer> targets : saved.values()) {
             targets.removeIf(t -> t == slot);
         }
 
-        // Recompute colors after removal
-        colorMap = assignGroupColors(slotbindingsConfig.current);
         saveData();
     }
 
-    public static Map<Integer, Set<Integer>> getCurrentBindings() {
-        return slotbindingsConfig.current;
+    /** Bitmask of every slot that has a binding. */
+    public static long getBoundSlots() {
+        return bindings.getBoundSlots();
+    }
+
+    /** Bitmask of the slots bound to {@code slot}. */
+    public static long getDirectlyConnectedSlots(int slot) {
+        return bindings.getNeighbours(slot);
+    }
+
+    public static int getColorId(int slot) {
+        return bindings.getColorId(slot);
+    }
+
+    public static String getActivePreset() {
+        return activePreset;
+    }
+
+    public static List<String> getPresetNames() {
+        List<String> names = new ArrayList<>(graphs.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    /** Manually switches preset, it stays active until the area or class changes to one with a bound preset. */
+    public static boolean usePreset(String name) {
+        if (!applyPreset(name)) return false;
+        slotbindingsConfig.activePreset = name;
+        saveData();
+        return true;
+    }
+
+    public static void cyclePreset() {
+        List<String> names = getPresetNames();
+        usePreset(names.get((names.indexOf(activePreset) + 1) % names.size()));
+    }
+
+    /** Saves the active bindings as a new (or overwritten) preset. */
+    public static void savePreset(String name) {
+        if (name.equals(DEFAULT_PRESET)) return;
+
+        Map<Integer, List<Integer>> copy = new HashMap<>();
+        for (Map.Entry<Integer, List<Integer>> entry : getSavedBindings(activePreset).entrySet()) copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        slotbindingsConfig.presets.put(name, copy);
+
+        graphs.put(name, new SlotGraph());
+        rebuildGraph(name);
+        saveData();
+    }
+
+    public static boolean deletePreset(String name) {
+        if (name.equals(DEFAULT_PRESET) || slotbindingsConfig.presets.remove(name) == null) return false;
+
+        graphs.remove(name);
+        slotbindingsConfig.areaPresets.values().removeIf(name::equals);
+        slotbindingsConfig.classPresets.values().removeIf(name::equals);
+        if (name.equals(slotbindingsConfig.activePreset)) slotbindingsConfig.activePreset = DEFAULT_PRESET;
+        if (name.equals(activePreset)) applyPreset(slotbindingsConfig.activePreset);
+        saveData();
+        return true;
+    }
+
+    /** Binds a preset to an island, null removes the binding. */
+    public static void setAreaPreset(Island area, String preset) {
+        if (preset == null) slotbindingsConfig.areaPresets.remove(area.name());
+        else slotbindingsConfig.areaPresets.put(area.name(), preset);
+        autoArea = null;
+        saveData();
+    }
+
+    /** Binds a preset to a dungeon class, null removes the binding. */
+    public static void setClassPreset(DungeonEnums.Class clazz, String preset) {
+        if (preset == null) slotbindingsConfig.classPresets.remove(clazz.name());
+        else slotbindingsConfig.classPresets.put(clazz.name(), preset);
+        autoArea = null;
+        saveData();
+    }
+
+    /**
+     * Picks the preset for the current dungeon class or area, falling back to the manually chosen
+     * one. Cheap enough to call every tick, only switches when the area or class changes so a
+     * manual switch isn't undone on the next tick.
+     */
+    public static void updateAutoPreset(Island area, DungeonEnums.Class clazz) {
+        if (area == autoArea && clazz == autoClass) return;
+        autoArea = area;
+        autoClass = clazz;
+
+        String preset = clazz == null ? null : slotbindingsConfig.classPresets.get(clazz.name());
+        if (preset == null) preset = slotbindingsConfig.areaPresets.get(area.name());
+        if (preset == null || !graphs.containsKey(preset)) preset = slotbindingsConfig.activePreset;
+
+        if (!preset.equals(activePreset) && !applyPreset(preset)) applyPreset(DEFAULT_PRESET);
     }
 
-    public static Set<Integer> getDirectlyConnectedSlots(int slot) {
-        return slotbindingsConfig.current.getOrDefault(slot, Collections.emptySet());
+    private static boolean applyPreset(String name) {
+        SlotGraph graph = name == null ? null : graphs.get(name);
+        if (graph == null) return false;
+
+        bindings = graph;
+        activePreset = name;
+        return true;
     }
 
     public static void swapSlots(int slotId, int hotbarSlot) {
@@ -164,16 +236,90 @@ public class SlotBindingUtils {
     }
 
     public static void saveData() {
-        try (FileWriter writer = new FileWriter(configFile)) {
-            GSON.toJson(slotbindingsConfig, writer);
-        } catch (IOException e) {
-            e.printStackTrace();
+        ConfigWriter.markDirty(configFile, GSON, SlotBindingUtils::snapshot, binary);
+    }
+
+    private static SlotbindingsConfig snapshot() {
+        SlotbindingsConfig copy = new SlotbindingsConfig();
+        for (Map.Entry<Integer, List<Integer>> entry : slotbindingsConfig.saved.entrySet()) copy.saved.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        for (Map.Entry<String, Map<Integer, List<Integer>>> preset : slotbindingsConfig.presets.entrySet()) {
+            Map<Integer, List<Integer>> saved = new HashMap<>();
+            for (Map.Entry<Integer, List<Integer>> entry : preset.getValue().entrySet()) saved.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            copy.presets.put(preset.getKey(), saved);
+        }
+        copy.activePreset = slotbindingsConfig.activePreset;
+        copy.areaPresets.putAll(slotbindingsConfig.areaPresets);
+        copy.classPresets.putAll(slotbindingsConfig.classPresets);
+        return copy;
+    }
+
+    private static void encode(DataOutputStream out, SlotbindingsConfig config) throws IOException {
+        writeBindings(out, config.saved);
+
+        out.writeInt(config.presets.size());
+        for (Map.Entry<String, Map<Integer, List<Integer>>> preset : config.presets.entrySet()) {
+            BinarySnapshot.writeString(out, preset.getKey());
+            writeBindings(out, preset.getValue());
+        }
+
+        BinarySnapshot.writeString(out, config.activePreset == null ? DEFAULT_PRESET : config.activePreset);
+        writeStrings(out, config.areaPresets);
+        writeStrings(out, config.classPresets);
+    }
+
+    private static SlotbindingsConfig decode(ByteBuffer in) {
+        SlotbindingsConfig config = new SlotbindingsConfig();
+        readBindings(in, config.saved);
+        for (int i = 0, presets = in.getInt(); i < presets; i++) {
+            String name = BinarySnapshot.readString(in);
+            config.presets.put(name, readBindings(in, new HashMap<>()));
+        }
+
+        config.activePreset = BinarySnapshot.readString(in);
+        readStrings(in, config.areaPresets);
+        readStrings(in, config.classPresets);
+        return config;
+    }
+
+    private static void writeBindings(DataOutputStream out, Map<Integer, List<Integer>> bindings) throws IOException {
+        out.writeInt(bindings.size());
+        for (Map.Entry<Integer, List<Integer>> entry : bindings.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (int slot : entry.getValue()) out.writeInt(slot);
+        }
+    }
+
+    private static Map<Integer, List<Integer>> readBindings(ByteBuffer in, Map<Integer, List<Integer>> bindings) {
+        for (int i = 0, size = in.getInt(); i < size; i++) {
+            int slot = in.getInt();
+            List<Integer> targets = new ArrayList<>();
+            for (int j = 0, count = in.getInt(); j < count; j++) targets.add(in.getInt());
+            bindings.put(slot, targets);
+        }
+        return bindings;
+    }
+
+    private static void writeStrings(DataOutputStream out, Map<String, String> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            BinarySnapshot.writeString(out, entry.getKey());
+            BinarySnapshot.writeString(out, entry.getValue());
+        }
+    }
+
+    private static void readStrings(ByteBuffer in, Map<String, String> map) {
+        for (int i = 0, size = in.getInt(); i < size; i++) {
+            String key = BinarySnapshot.readString(in);
+            map.put(key, BinarySnapshot.readString(in));
         }
     }
 
     public static class SlotbindingsConfig {
-        public transient Map<Integer, Set<Integer>> current = new HashMap<>();
         public Map<Integer, List<Integer>> saved = new HashMap<>();
-        public Map<String, Map<Integer, Set<Integer>>> presets = new HashMap<>();
+        public Map<String, Map<Integer, List<Integer>>> presets = new HashMap<>();
+        public String activePreset = DEFAULT_PRESET;
+        public Map<String, String> areaPresets = new HashMap<>();   // Island name -> preset
+        public Map<String, String> classPresets = new HashMap<>();  // DungeonEnums.Class name -> preset
     }
 }
@@ -0,0 +1,104 @@
+package com.github.spookie6.frozen.utils;
+
+import java.util.Arrays;
+
+/**
+ * Undirected slot binding graph for the player inventory container (slots 0..44). Each slot's
+ * neighbours are a bitmask in a long, and connected groups get color ids through a union-find
+ * that is recomputed on change, so lookups while drawing are plain array reads.
+ */
+public class SlotGraph {
+    public static final int SLOT_COUNT = 45;
+
+    private final long[] adjacency = new long[SLOT_COUNT];
+    private final int[] parent = new int[SLOT_COUNT];
+    private final int[] colors = new int[SLOT_COUNT];
+    private long bound = 0;
+
+    public SlotGraph() {
+        Arrays.fill(colors, -1);
+    }
+
+    public static boolean isValid(int slot) {
+        return slot >= 0 && slot < SLOT_COUNT;
+    }
+
+    public void add(int a, int b) {
+        if (!isValid(a) || !isValid(b) || a == b) return;
+        adjacency[a] |= 1L << b;
+        adjacency[b] |= 1L << a;
+        bound |= 1L << a | 1L << b;
+        updateColors();
+    }
+
+    /** Removes every binding of the slot. */
+    public void remove(int slot) {
+        if (!isValid(slot)) return;
+
+        long neighbours = adjacency[slot];
+        adjacency[slot] = 0;
+        bound &= ~(1L << slot);
+        for (long n = neighbours; n != 0; n &= n - 1) {
+            int neighbour = Long.numberOfTrailingZeros(n);
+            adjacency[neighbour] &= ~(1L << slot);
+            if (adjacency[neighbour] == 0) bound &= ~(1L << neighbour);
+        }
+        updateColors();
+    }
+
+    public void clear() {
+        Arrays.fill(adjacency, 0);
+        bound = 0;
+        updateColors();
+    }
+
+    /** Bitmask of the slots directly bound to {@code slot}. */
+    public long getNeighbours(int slot) {
+        return isValid(slot) ? adjacency[slot] : 0;
+    }
+
+    /** Bitmask of every slot that has at least one binding. */
+    public long getBoundSlots() {
+        return bound;
+    }
+
+    /** Color group of the slot, groups are numbered by their lowest slot. -1 when unbound. */
+    public int getColorId(int slot) {
+        return isValid(slot) ? colors[slot] : -1;
+    }
+
+    private void updateColors() {
+        for (int i = 0; i < SLOT_COUNT; i++) parent[i] = i;
+        for (int a = 0; a < SLOT_COUNT; a++) {
+            for (long n = adjacency[a]; n != 0; n &= n - 1) union(a, Long.numberOfTrailingZeros(n));
+        }
+
+        // Roots are visited in slot order, so ids come out the same as a breadth first walk in slot order.
+        int[] rootColors = new int[SLOT_COUNT];
+        Arrays.fill(rootColors, -1);
+        int nextColor = 0;
+        for (int slot = 0; slot < SLOT_COUNT; slot++) {
+            if ((bound & 1L << slot) == 0) {
+                colors[slot] = -1;
+                continue;
+            }
+            int root = find(slot);
+            if (rootColors[root] < 0) rootColors[root] = nextColor++;
+            colors[slot] = rootColors[root];
+        }
+    }
+
+    private int find(int slot) {
+        while (parent[slot] != slot) {
+            parent[slot] = parent[parent[slot]];
+            slot = parent[slot];
+        }
+        return slot;
+    }
+
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA != rootB) parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.spookie6.frozen.utils;
+
+import com.github.spookie6.frozen.events.impl.ServerTickEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * The single server tick clock. Every {@link ServerTickEvent} bumps the tick count and stores the
+ * arrival time of its packet in a ring buffer, from which the rolling TPS and the jitter between
+ * ticks are computed. Timers should keep deadlines in {@link #getTicks()} instead of counting
+ * ticks themselves.
+ */
+public class TickClock {
+    public static final int MILLIS_PER_TICK = 50;
+    private static final int WINDOW = 100;
+
+    private static final long[] arrivals = new long[WINDOW];
+    private static int head = 0;
+    private static int count = 0;
+    private static volatile long ticks = 0;
+
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onServerTick(ServerTickEvent e) {
+        record(e.nanos);
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload e) {
+        clearWindow();
+    }
+
+    public static synchronized void record(long nanos) {
+        arrivals[head] = nanos;
+        head = (head + 1) % WINDOW;
+        if (count < WINDOW) count++;
+        ticks++;
+    }
+
+    private static synchronized void clearWindow() {
+        head = 0;
+        count = 0;
+    }
+
+    /** Server ticks seen since the game started, never reset. */
+    public static long getTicks() {
+        return ticks;
+    }
+
+    /** Rolling ticks per second over the last {@value #WINDOW} ticks, at most 20. */
+    public static synchronized double getTps() {
+        if (count < 2) return 20;
+        long newest = arrivals[(head - 1 + WINDOW) % WINDOW];
+        long oldest = arrivals[(head - count + WINDOW) % WINDOW];
+        // A stalled server sends nothing at all, so count the time since the last tick as well
+        long span = Math.max(newest, System.nanoTime() - MILLIS_PER_TICK * 1_000_000L) - oldest;
+        if (span <= 0) return 20;
+        return Math.min(20, (count - 1) * 1e9 / span);
+    }
+
+    /** Standard deviation of the time between ticks in microseconds. */
+    public static synchronized long getJitterMicros() {
+        if (count < 3) return 0;
+        double sum = 0, sumSquares = 0;
+        for (int i = 1; i < count; i++) {
+            long interval = arrivals[(head - i + WINDOW) % WINDOW] - arrivals[(head - i - 1 + WINDOW) % WINDOW];
+            sum += interval;
+            sumSquares += (double) interval * interval;
+        }
+        int n = count - 1;
+        double mean = sum / n;
+        return Math.round(Math.sqrt(Math.max(0, sumSquares / n - mean * mean)) / 1000);
+    }
+
+    /** Wall time that wasn't covered by server ticks, i.e. how much slower than 20 TPS a span ran. */
+    public static long getLagMillis(long millis, long ticks) {
+        return Math.max(0, millis - ticks * MILLIS_PER_TICK);
+    }
+
+    public static String getText() {
+        double tps = getTps();
+        StringBuilder sb = new StringBuilder(tps >= 19 ? "§a" : tps >= 15 ? "§e" : "§c");
+        TimeFormat.appendSeconds(sb, Math.round(tps * 100), 100, 2).append(" §8±§7");
+        return TimeFormat.appendSeconds(sb, getJitterMicros(), 1000, 1).append("ms").toString();
+    }
+}
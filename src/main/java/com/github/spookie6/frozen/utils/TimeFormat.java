@@ -0,0 +1,64 @@
+package com.github.spookie6.frozen.utils;
+
+/**
+ * Fixed point formatting for timers. Values stay integer ticks or millis the whole way and are
+ * written straight into a StringBuilder, so there is no Formatter parsing, boxing or float math.
+ * Rounds half up like {@code String.format("%.2f")}.
+ */
+public class TimeFormat {
+    public static final int MILLIS = 1000;
+    public static final int TICKS = 20;
+
+    private static final long[] POW10 = {1, 10, 100, 1000, 10000};
+    private static final ThreadLocal<StringBuilder> builder = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    /** Appends {@code value / unitsPerSecond} seconds with the given amount of decimals (at most 4). */
+    public static StringBuilder appendSeconds(StringBuilder sb, long value, int unitsPerSecond, int decimals) {
+        long pow = POW10[decimals];
+        long scaled = (Math.abs(value) * pow * 2 + unitsPerSecond) / (unitsPerSecond * 2L);
+        if (value < 0 && scaled != 0) sb.append('-');
+        return appendScaled(sb, scaled, decimals);
+    }
+
+    /** Appends a time like "12.34s", or "1m 2.34s" when {@code showMins} is set and it's over a minute. */
+    public static StringBuilder appendTime(StringBuilder sb, long value, int unitsPerSecond, boolean showMins) {
+        long hundredths = (Math.abs(value) * 200 + unitsPerSecond) / (unitsPerSecond * 2L);
+        if (value < 0 && hundredths != 0) sb.append('-');
+
+        if (showMins && hundredths >= 6000) {
+            sb.append(hundredths / 6000).append("m ");
+            hundredths %= 6000;
+        }
+        return appendScaled(sb, hundredths, 2).append('s');
+    }
+
+    public static String seconds(long value, int unitsPerSecond, int decimals) {
+        return appendSeconds(reuse(), value, unitsPerSecond, decimals).toString();
+    }
+
+    public static String seconds(String prefix, long value, int unitsPerSecond, int decimals, String suffix) {
+        return appendSeconds(reuse().append(prefix), value, unitsPerSecond, decimals).append(suffix).toString();
+    }
+
+    public static String time(long value, int unitsPerSecond, boolean showMins) {
+        return appendTime(reuse(), value, unitsPerSecond, showMins).toString();
+    }
+
+    private static StringBuilder appendScaled(StringBuilder sb, long scaled, int decimals) {
+        if (decimals == 0) return sb.append(scaled);
+
+        long pow = POW10[decimals];
+        sb.append(scaled / pow).append('.');
+        long fraction = scaled % pow;
+        for (long digit = pow / 10; digit > 0; digit /= 10) {
+            sb.append((char) ('0' + fraction / digit % 10));
+        }
+        return sb;
+    }
+
+    private static StringBuilder reuse() {
+        StringBuilder sb = builder.get();
+        sb.setLength(0);
+        return sb;
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.spookie6.frozen.utils.overlays;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the screen bounds and content version of cached overlays between frames and works out
+ * which screen regions have to be redrawn. Pure java so the invalidation logic doesn't need GL.
+ * <p>
+ * Usage per frame: {@link #beginFrame()}, {@link #track} every visible cached overlay,
+ * {@link #endFrame()}, then redraw every overlay that intersects one of {@link #getDirtyRegions()}.
+ */
+public class DirtyRegionTracker {
+    private final Map<Object, Entry> entries = new HashMap<>();
+    private final List<Region> dirtyRegions = new ArrayList<>();
+    private int frame = 0;
+    private boolean fullInvalidation = true;
+    private int screenWidth, screenHeight;
+
+    public void beginFrame() {
+        frame++;
+        dirtyRegions.clear();
+    }
+
+    public void track(Object key, int x, int y, int width, int height, long version) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(key, entry);
+            addDirty(x, y, width, height);
+        } else if (entry.x != x || entry.y != y || entry.width != width || entry.height != height || entry.version != version) {
+            addDirty(entry.x, entry.y, entry.width, entry.height);
+            addDirty(x, y, width, height);
+        }
+
+        entry.x = x;
+        entry.y = y;
+        entry.width = width;
+        entry.height = height;
+        entry.version = version;
+        entry.frame = frame;
+    }
+
+    public void endFrame() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.frame == frame) continue;
+            // Overlay hidden since last frame, clear where it used to be.
+            addDirty(entry.x, entry.y, entry.width, entry.height);
+            iterator.remove();
+        }
+
+        if (fullInvalidation) {
+            dirtyRegions.clear();
+            dirtyRegions.add(new Region(0, 0, screenWidth, screenHeight));
+            fullInvalidation = false;
+        }
+        mergeRegions();
+    }
+
+    /** Marks the whole screen dirty on the next frame, e.g. after a resize or gui scale change. */
+    public void invalidateAll(int screenWidth, int screenHeight) {
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        this.fullInvalidation = true;
+    }
+
+    public List<Region> getDirtyRegions() {
+        return dirtyRegions;
+    }
+
+    public boolean hasDirtyRegions() {
+        return !dirtyRegions.isEmpty();
+    }
+
+    private void addDirty(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+        dirtyRegions.add(new Region(x, y, width, height));
+    }
+
+    // Merges overlapping regions so no pixel gets cleared and redrawn twice.
+    private void mergeRegions() {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < dirtyRegions.size() && !merged; i++) {
+                for (int j = i + 1; j < dirtyRegions.size(); j++) {
+                    Region a = dirtyRegions.get(i);
+                    Region b = dirtyRegions.get(j);
+                    if (!a.intersects(b.x, b.y, b.width, b.height)) continue;
+
+                    dirtyRegions.set(i, a.union(b));
+                    dirtyRegions.remove(j);
+                    merged = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private static class Entry {
+        int x, y, width, height;
+        long version;
+        int frame;
+    }
+
+    public static class Region {
+        public final int x, y, width, height;
+
+        public Region(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        public boolean intersects(int x, int y, int width, int height) {
+            return x < this.x + this.width && this.x < x + width && y < this.y + this.height && this.y < y + height;
+        }
+
+        Region union(Region other) {
+            int minX = Math.min(x, other.x);
+            int minY = Math.min(y, other.y);
+            int maxX = Math.max(x + width, other.x + other.width);
+            int maxY = Math.max(y + height, other.y + other.height);
+            return new Region(minX, minY, maxX - minX, maxY - minY);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.github.spookie6.frozen.utils.overlays;
 
+import com.github.spookie6.frozen.utils.BinarySnapshot;
 import com.github.spookie6.frozen.utils.Button;
 import com.github.spookie6.frozen.utils.ChatUtils;
+import com.github.spookie6.frozen.utils.ConfigWriter;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import net.minecraft.client.Minecraft;
@@ -15,6 +17,7 @@ import org.lwjgl.input.Mouse;
 import java.awt.Color;
 import java.io.*;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 public class GuiOverlayEditor extends GuiScreen {
@@ -39,12 +42,18 @@ public class GuiOverlayEditor extends GuiScreen {
     private long lastScaleChange = -1;
     private final int scaleOverlayDuration = 250; // ms
 
+    private final OverlayIndex index = new OverlayIndex();
+    private final List<Overlay> shownOverlays = new ArrayList<>();
+    private final List<Overlay> indexedOverlays = new ArrayList<>();
+    private boolean indexDirty = true;
+
     private boolean openCall = false;
     private boolean showTip = false;
 
     public ScaledResolution res;
     public static final File configFile = new File(Minecraft.getMinecraft().mcDataDir, "config/frozen/editor.json");
     Gson GSON = new Gson();
+    private final BinarySnapshot<Map<String, Object>> binary = new BinarySnapshot<>(configFile, 1, GuiOverlayEditor::encode, GuiOverlayEditor::decode);
 
     @Override
     public void initGui() {
@@ -60,6 +69,7 @@ public class GuiOverlayEditor extends GuiScreen {
         loadConfig();
         showInvisibleToggle = new ToggleSwitch(margin, yBase, showinvisible, "Show Invisible");
         snapToggle = new ToggleSwitch(margin, yBase + 24, snap, "Snapping");
+        indexDirty = true;
 
         for (Overlay overlay : OverlayManager.getOverlays()) {
             overlay.setEditMode(true);
@@ -93,10 +103,9 @@ public class GuiOverlayEditor extends GuiScreen {
             drawHorizontalLine(0, width, snapLineY, new Color(137, 207, 240, 75).getRGB());
         }
 
-        for (Overlay overlay : OverlayManager.getOverlays()) {
-            if (overlay.isVisible() || showInvisibleToggle.getState()) {
-                overlay.render(mc);
-            }
+        updateIndex();
+        for (Overlay overlay : indexedOverlays) {
+            overlay.render(mc);
         }
 
         showInvisibleToggle.draw(mc, partialTicks);
@@ -138,13 +147,10 @@ public class GuiOverlayEditor extends GuiScreen {
         super.mouseClicked(mouseX, mouseY, mouseButton);
         showTip = false;
         com.github.spookie6.frozen.utils.Button mouseBtn = com.github.spookie6.frozen.utils.Button.getButton(mouseButton);
-        Overlay hoveringOverlay = null;
 
-        for (Overlay overlay : OverlayManager.getOverlays()) {
-            if ((overlay.isVisible() || showInvisibleToggle.getState()) && isMouseOverOverlay(overlay, mouseX, mouseY)) {
-                hoveringOverlay = overlay;
-            }
-        }
+        updateIndex();
+        Overlay hoveringOverlay = index.findAt(mouseX, mouseY, true);
+        indexDirty = true;
 
         if (mouseBtn.equals(com.github.spookie6.frozen.utils.Button.MOUSE_LEFT)) {
             if (overlayConfigGui != null) {
@@ -168,6 +174,7 @@ public class GuiOverlayEditor extends GuiScreen {
 
             if (hoveringOverlay != null) {
                 draggedOverlay = hoveringOverlay;
+                index.rebuildEdges(hoveringOverlay);
                 dragOffsetX = mouseX - hoveringOverlay.getX();
                 dragOffsetY = mouseY - hoveringOverlay.getY();
             }
@@ -198,15 +205,14 @@ public class GuiOverlayEditor extends GuiScreen {
         }
 
         // Decide which overlay we are resizing
-        Overlay target = draggedOverlay;            // resize the one being dragged
-        for (Overlay overlay : OverlayManager.getOverlays()) {
-            if ((overlay.isVisible() || showInvisibleToggle.getState()) && isMouseOverOverlay(overlay, mouseX, mouseY)) {
-                target = overlay;
-                break;
-            }
-        }
+        updateIndex();
+        Overlay target = index.findAt(mouseX, mouseY, false);
+        if (target == null) target = draggedOverlay;            // resize the one being dragged
         if (target == null) return;
 
+        indexDirty = true;
+        if (draggedOverlay != null) index.rebuildEdges(draggedOverlay);
+
         lastScaleChange = System.currentTimeMillis();
         scaledOverlay = target;
         if (dWheel > 0) target.incrementScale();
@@ -218,6 +224,7 @@ public class GuiOverlayEditor extends GuiScreen {
         draggedOverlay = null;
         snappingX = false;
         snappingY = false;
+        indexDirty = true;
 
         if (overlayConfigGui != null) {
             overlayConfigGui.mouseReleased();
@@ -246,69 +253,67 @@ public class GuiOverlayEditor extends GuiScreen {
         }
     }
 
-    private boolean isMouseOverOverlay(Overlay overlay, int mouseX, int mouseY) {
-        return mouseX >= overlay.getX() && mouseX <= overlay.getX() + overlay.getWidth() &&
-                mouseY >= overlay.getY() && mouseY <= overlay.getY() + overlay.getHeight();
+    // Rebuilds the hit test and snap index when overlays were moved, resized or changed visibility.
+    private void updateIndex() {
+        shownOverlays.clear();
+        for (Overlay overlay : OverlayManager.getOverlays()) {
+            if (overlay.isVisible() || showInvisibleToggle.getState()) shownOverlays.add(overlay);
+        }
+        if (!indexDirty && shownOverlays.equals(indexedOverlays)) return;
+
+        indexedOverlays.clear();
+        indexedOverlays.addAll(shownOverlays);
+        index.rebuild(indexedOverlays, res.getScaledWidth());
+        if (draggedOverlay != null) index.rebuildEdges(draggedOverlay);
+        indexDirty = false;
     }
 
     private int snapToOtherOverlays(int newCoord, int direction, ScaledResolution res) {
-        int snappedCoord;
-
         Overlay dragged = this.draggedOverlay;
+        boolean horizontal = direction == 1;
 
         // Which edges to use based on direction
-        List<Edge> draggedEdges = direction == 1
-                ? Arrays.<Edge>asList(Edge.LEFT, Edge.RIGHT, Edge.CENTER_X)
-                : Arrays.<Edge>asList(Edge.TOP, Edge.BOTTOM, Edge.CENTER_Y);
+        Edge[] draggedEdges = horizontal ? Edge.X_EDGES : Edge.Y_EDGES;
+        int screenCenter = horizontal ? res.getScaledWidth() / 2 : res.getScaledHeight() / 2;
 
-        List<Edge> targetEdges = draggedEdges; // We compare same kinds of edges
+        Edge snapEdge = null;
+        int snapTarget = 0;
+        int snapDistance = snapThreshold;
 
         for (Edge draggedEdge : draggedEdges) {
-            int draggedValue = draggedEdge.get(dragged) - (direction == 1 ? dragged.getX() : dragged.getY()) + newCoord;
+            int draggedValue = draggedEdge.get(dragged) - (horizontal ? dragged.getX() : dragged.getY()) + newCoord;
 
             // Snap to screen center
-            int screenCenter = direction == 1 ? res.getScaledWidth() / 2 : res.getScaledHeight() / 2;
             if (draggedEdge == Edge.CENTER_X || draggedEdge == Edge.CENTER_Y) {
-                if (Math.abs(draggedValue - screenCenter) < snapThreshold) {
-                    snappedCoord = draggedEdge.adjust(screenCenter, dragged);
-
-                    if (draggedEdge.isHorizontal()) {
-                        this.snappingX = true;
-                        this.snapLineX = screenCenter;
-                    } else {
-                        this.snappingY = true;
-                        this.snapLineY = screenCenter;
-                    }
-                    return snappedCoord;
+                if (Math.abs(draggedValue - screenCenter) < snapDistance) {
+                    snapEdge = draggedEdge;
+                    snapTarget = screenCenter;
+                    snapDistance = Math.abs(draggedValue - screenCenter);
                 }
             }
 
-            // Snap to other overlays
-            for (Overlay other : OverlayManager.getOverlays()) {
-                if (!other.isVisible() && !showInvisibleToggle.getState()) continue;
-                if (other == dragged) continue;
-
-                for (Edge targetEdge : targetEdges) {
-                    int otherValue = targetEdge.get(other);
-                    if (Math.abs(draggedValue - otherValue) < snapThreshold) {
-                        snappedCoord = draggedEdge.adjust(otherValue, dragged);
-
-                        if (draggedEdge.isHorizontal()) {
-                            this.snappingX = true;
-                            this.snapLineX = otherValue;
-                        } else {
-                            this.snappingY = true;
-                            this.snapLineY = otherValue;
-                        }
-
-                        return snappedCoord;
-                    }
-                }
+            // Snap to the nearest edge of the other overlays
+            int otherValue = index.nearestEdge(horizontal, draggedValue);
+            if (otherValue != Integer.MIN_VALUE && Math.abs(draggedValue - otherValue) < snapDistance) {
+                snapEdge = draggedEdge;
+                snapTarget = otherValue;
+                snapDistance = Math.abs(draggedValue - otherValue);
             }
         }
 
+        if (snapEdge != null) {
+            if (horizontal) {
+                this.snappingX = true;
+                this.snapLineX = snapTarget;
+            } else {
+                this.snappingY = true;
+                this.snapLineY = snapTarget;
+            }
+            return snapEdge.adjust(snapTarget, dragged);
+        }
+
         // If nothing snapped, reset flags
-        if (direction == 1) {
+        if (horizontal) {
             this.snappingX = false;
             this.snapLineX = -1;
         } else {
@@ -343,33 +348,49 @@ public class GuiOverlayEditor extends GuiScreen {
         data.put("show_invisible", showinvisible);
         data.put("snap", snap);
 
-        try (FileWriter writer = new FileWriter(configFile)) {
-            GSON.toJson(data, writer);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        ConfigWriter.markDirty(configFile, GSON, () -> data, binary);
     }
 
     private void loadConfig() {
         configFile.getParentFile().mkdirs();
 
-        if (!configFile.exists()) return;
+        Map<String, Object> loaded = binary.load();
+        if (loaded == null) {
+            if (!configFile.exists()) return;
+
+            Type type = new TypeToken<Map<String, Object>>(){}.getType();
+            try (FileReader reader = new FileReader(configFile)) {
+                loaded = GSON.fromJson(reader, type);
+            } catch (IOException | ClassCastException e) {
+                e.printStackTrace(); // optionally show an error dialog/log
+                return;
+            }
+        }
 
-        Type type = new TypeToken<Map<String, Object>>(){}.getType();
-        Map<String, Object> loaded;
+        showinvisible = loaded.get("show_invisible") instanceof Boolean && (boolean) loaded.get("show_invisible");
+        snap = loaded.get("snap") instanceof Boolean && (boolean) loaded.get("snap");
+    }
 
-        try (FileReader reader = new FileReader(configFile)) {
-            loaded = GSON.fromJson(reader, type);
-            showinvisible = loaded.get("show_invisible") instanceof Boolean && (boolean) loaded.get("show_invisible");
-            snap = loaded.get("snap") instanceof Boolean && (boolean) loaded.get("snap");
-        } catch (IOException | ClassCastException e) {
-            e.printStackTrace(); // optionally show an error dialog/log
+    private static void encode(DataOutputStream out, Map<String, Object> data) throws IOException {
+        out.writeInt(data.size());
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            BinarySnapshot.writeString(out, entry.getKey());
+            out.writeBoolean(Boolean.TRUE.equals(entry.getValue()));
         }
     }
 
+    private static Map<String, Object> decode(ByteBuffer in) {
+        Map<String, Object> data = new HashMap<>();
+        for (int i = 0, size = in.getInt(); i < size; i++) data.put(BinarySnapshot.readString(in), in.get() != 0);
+        return data;
+    }
+
     public enum Edge {
         LEFT, RIGHT, CENTER_X, TOP, BOTTOM, CENTER_Y;
 
+        static final Edge[] X_EDGES = {LEFT, RIGHT, CENTER_X};
+        static final Edge[] Y_EDGES = {TOP, BOTTOM, CENTER_Y};
+
         public int get(Overlay o) {
             switch (this) {
                 case LEFT: return o.getX();
@@ -28,8 +28,14 @@ public abstract class Overlay {
 
     protected boolean inEditMode = false;
 
+    protected RefreshPolicy refreshPolicy = RefreshPolicy.FRAME;
+    protected long refreshInterval = 0; // ms, only used by RefreshPolicy.INTERVAL
+    private long lastRefresh = Long.MIN_VALUE;
+    private boolean dirty = true;
+
     public void setEditMode(boolean bool) {
         this.inEditMode = bool;
+        this.dirty = true;
         this.updateDimensions();
     }
 
@@ -67,6 +73,44 @@ public abstract class Overlay {
         updateConfig();
     }
 
+    public Overlay setRefreshPolicy(RefreshPolicy refreshPolicy) {
+        this.refreshPolicy = refreshPolicy;
+        this.dirty = true;
+        return this;
+    }
+
+    public Overlay setRefreshInterval(long millis) {
+        this.refreshInterval = millis;
+        return setRefreshPolicy(RefreshPolicy.INTERVAL);
+    }
+
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    /** Whether the overlay content has to be rebuilt this frame according to its refresh policy. */
+    protected boolean isStale() {
+        if (dirty) return true;
+
+        switch (refreshPolicy) {
+            case CLIENT_TICK: return lastRefresh != OverlayManager.getClientTicks();
+            case SERVER_TICK: return lastRefresh != OverlayManager.getServerTicks();
+            case INTERVAL: return System.currentTimeMillis() - lastRefresh >= refreshInterval;
+            case DIRTY: return false;
+            default: return true;
+        }
+    }
+
+    protected void markRefreshed() {
+        dirty = false;
+
+        switch (refreshPolicy) {
+            case CLIENT_TICK: lastRefresh = OverlayManager.getClientTicks(); break;
+            case SERVER_TICK: lastRefresh = OverlayManager.getServerTicks(); break;
+            case INTERVAL: lastRefresh = System.currentTimeMillis(); break;
+        }
+    }
+
     public int getX() { return x; }
     public int getY() { return y; }
     public int getWidth() {
@@ -1,6 +1,13 @@
 package com.github.spookie6.frozen.utils.overlays;
 
+import com.github.spookie6.frozen.utils.BinarySnapshot;
+
 import java.awt.*;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
 
 public class OverlayConfig {
     public int x, y = 0;
@@ -9,4 +16,43 @@ public class OverlayConfig {
     public boolean shadow = false;
 
     public OverlayConfig() {}
+
+    public OverlayConfig copy() {
+        OverlayConfig copy = new OverlayConfig();
+        copy.x = x;
+        copy.y = y;
+        copy.scale = scale;
+        copy.color = color;
+        copy.shadow = shadow;
+        return copy;
+    }
+
+    static void encodeAll(DataOutputStream out, Map<String, OverlayConfig> configs) throws IOException {
+        out.writeInt(configs.size());
+        for (Map.Entry<String, OverlayConfig> entry : configs.entrySet()) {
+            OverlayConfig config = entry.getValue();
+            BinarySnapshot.writeString(out, entry.getKey());
+            out.writeInt(config.x);
+            out.writeInt(config.y);
+            out.writeDouble(config.scale);
+            out.writeInt(config.color);
+            out.writeBoolean(config.shadow);
+        }
+    }
+
+    static Map<String, OverlayConfig> decodeAll(ByteBuffer in) {
+        int size = in.getInt();
+        Map<String, OverlayConfig> configs = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            String name = BinarySnapshot.readString(in);
+            OverlayConfig config = new OverlayConfig();
+            config.x = in.getInt();
+            config.y = in.getInt();
+            config.scale = in.getDouble();
+            config.color = in.getInt();
+            config.shadow = in.get() != 0;
+            configs.put(name, config);
+        }
+        return configs;
+    }
 }
\ No newline at end of file
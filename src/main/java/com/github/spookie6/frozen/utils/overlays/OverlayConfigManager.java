@@ -1,12 +1,13 @@
 package com.github.spookie6.frozen.utils.overlays;
 
+import com.github.spookie6.frozen.utils.BinarySnapshot;
+import com.github.spookie6.frozen.utils.ConfigWriter;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.HashMap;
@@ -21,8 +22,13 @@ public class OverlayConfigManager {
     public static final Type type = new TypeToken<Map<String, OverlayConfig>>() {}.getType();
     public static Map<String, OverlayConfig> configMap;
 
+    private static final BinarySnapshot<Map<String, OverlayConfig>> binary = new BinarySnapshot<>(configFile, 1, OverlayConfig::encodeAll, OverlayConfig::decodeAll);
+
     public static void init() {
         configFile.getParentFile().mkdirs();
+        configMap = binary.load();
+        if (configMap != null) return;
+
         if (!configFile.exists()) {
             configMap = new HashMap<>();
             return;
@@ -42,14 +48,17 @@ public class OverlayConfigManager {
 
     public static void updateOverlayConfig(String configName, OverlayConfig overlayConfig) {
         configMap.put(configName, overlayConfig);
+        ConfigWriter.markDirty(configFile, GSON, OverlayConfigManager::snapshot, binary);
     }
 
     public static void saveOverlayConfigs() {
-        configFile.getParentFile().mkdirs();
-        try (FileWriter writer = new FileWriter(configFile)) {
-            GSON.toJson(configMap, writer);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        ConfigWriter.markDirty(configFile, GSON, OverlayConfigManager::snapshot, binary);
+        ConfigWriter.flush();
+    }
+
+    private static Map<String, OverlayConfig> snapshot() {
+        Map<String, OverlayConfig> copy = new HashMap<>();
+        for (Map.Entry<String, OverlayConfig> entry : configMap.entrySet()) copy.put(entry.getKey(), entry.getValue().copy());
+        return copy;
     }
 }
@@ -0,0 +1,102 @@
+package com.github.spookie6.frozen.utils.overlays;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spatial index used by the overlay editor. Overlays are bucketed into fixed width screen columns
+ * for hit testing, and their edges are kept in sorted arrays per axis so the nearest edge to snap
+ * to is a binary search instead of a scan over every overlay.
+ */
+class OverlayIndex {
+    private static final int COLUMN_WIDTH = 16;
+
+    private final List<Overlay> overlays = new ArrayList<>();
+    private int[][] columns = new int[0][];
+
+    // LEFT, RIGHT, CENTER_X and TOP, BOTTOM, CENTER_Y of every overlay except the excluded one.
+    private int[] xEdges = new int[0];
+    private int[] yEdges = new int[0];
+
+    void rebuild(List<Overlay> visible, int screenWidth) {
+        overlays.clear();
+        overlays.addAll(visible);
+
+        int columnCount = Math.max(1, (screenWidth + COLUMN_WIDTH - 1) / COLUMN_WIDTH);
+        int[] counts = new int[columnCount];
+        for (Overlay overlay : overlays) {
+            for (int c = column(overlay.getX(), columnCount), end = column(overlay.getX() + overlay.getWidth(), columnCount); c <= end; c++) counts[c]++;
+        }
+
+        columns = new int[columnCount][];
+        for (int c = 0; c < columnCount; c++) columns[c] = new int[counts[c]];
+        Arrays.fill(counts, 0);
+
+        for (int i = 0; i < overlays.size(); i++) {
+            Overlay overlay = overlays.get(i);
+            for (int c = column(overlay.getX(), columnCount), end = column(overlay.getX() + overlay.getWidth(), columnCount); c <= end; c++) {
+                columns[c][counts[c]++] = i;
+            }
+        }
+
+        rebuildEdges(null);
+    }
+
+    /** Rebuilds the snap edges without {@code exclude}, call when a drag starts. */
+    void rebuildEdges(Overlay exclude) {
+        int n = overlays.contains(exclude) ? overlays.size() - 1 : overlays.size();
+        xEdges = new int[n * 3];
+        yEdges = new int[n * 3];
+
+        int i = 0;
+        for (Overlay overlay : overlays) {
+            if (overlay == exclude) continue;
+            xEdges[i] = GuiOverlayEditor.Edge.LEFT.get(overlay);
+            xEdges[i + 1] = GuiOverlayEditor.Edge.RIGHT.get(overlay);
+            xEdges[i + 2] = GuiOverlayEditor.Edge.CENTER_X.get(overlay);
+            yEdges[i] = GuiOverlayEditor.Edge.TOP.get(overlay);
+            yEdges[i + 1] = GuiOverlayEditor.Edge.BOTTOM.get(overlay);
+            yEdges[i + 2] = GuiOverlayEditor.Edge.CENTER_Y.get(overlay);
+            i += 3;
+        }
+        Arrays.sort(xEdges);
+        Arrays.sort(yEdges);
+    }
+
+    /**
+     * Returns the overlay under the point, the last one in render order when {@code topmost} is set
+     * (the one drawn on top) and the first one otherwise. Null when nothing is there.
+     */
+    Overlay findAt(int x, int y, boolean topmost) {
+        if (columns.length == 0) return null;
+
+        Overlay found = null;
+        for (int i : columns[column(x, columns.length)]) {
+            Overlay overlay = overlays.get(i);
+            if (x < overlay.getX() || x > overlay.getX() + overlay.getWidth() || y < overlay.getY() || y > overlay.getY() + overlay.getHeight()) continue;
+
+            found = overlay;
+            if (!topmost) break;
+        }
+        return found;
+    }
+
+    /** Nearest snap edge on the x (horizontal) or y axis, or {@link Integer#MIN_VALUE} when there are none. */
+    int nearestEdge(boolean horizontal, int value) {
+        int[] edges = horizontal ? xEdges : yEdges;
+        if (edges.length == 0) return Integer.MIN_VALUE;
+
+        int i = Arrays.binarySearch(edges, value);
+        if (i >= 0) return edges[i];
+
+        int insertion = -i - 1;
+        if (insertion == 0) return edges[0];
+        if (insertion == edges.length) return edges[edges.length - 1];
+        return value - edges[insertion - 1] <= edges[insertion] - value ? edges[insertion - 1] : edges[insertion];
+    }
+
+    private static int column(int x, int columnCount) {
+        return Math.max(0, Math.min(columnCount - 1, x / COLUMN_WIDTH));
+    }
+}
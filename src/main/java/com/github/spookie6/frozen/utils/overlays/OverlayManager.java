@@ -1,5 +1,12 @@
 package com.github.spookie6.frozen.utils.overlays;
 
+import com.github.spookie6.frozen.config.ModConfig;
+import com.github.spookie6.frozen.utils.TickClock;
+import com.github.spookie6.frozen.utils.render.OverlayCache;
+import com.github.spookie6.frozen.utils.render.TextBatch;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -7,6 +14,7 @@ import static com.github.spookie6.frozen.Frozen.mc;
 
 public class OverlayManager {
     private static final List<Overlay> overlays = new ArrayList<>();
+    private static long clientTicks = 0;
 
     public static void register(Overlay overlay) {
         for (Overlay o : getOverlays()) {
@@ -16,13 +24,30 @@ public class OverlayManager {
     }
 
     public static void renderOverlays() {
+        if (ModConfig.cacheOverlays && OverlayCache.isSupported()) {
+            OverlayCache.render(overlays);
+            return;
+        }
+        OverlayCache.invalidate();
+
+        TextBatch.begin();
         for (Overlay overlay : overlays) {
             if (!overlay.isVisible()) continue;
+            if (overlay instanceof TextOverlay && ((TextOverlay) overlay).addToBatch()) continue;
             overlay.render(mc);
         }
+        TextBatch.flush();
     }
 
     public static List<Overlay> getOverlays() {
         return overlays;
     }
+
+    public static long getClientTicks() { return clientTicks; }
+    public static long getServerTicks() { return TickClock.getTicks(); }
+
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent e) {
+        if (e.phase == TickEvent.Phase.END) clientTicks++;
+    }
 }
@@ -0,0 +1,5 @@
+package com.github.spookie6.frozen.utils.overlays;
+
+public enum RefreshPolicy {
+    FRAME, CLIENT_TICK, SERVER_TICK, INTERVAL, DIRTY
+}
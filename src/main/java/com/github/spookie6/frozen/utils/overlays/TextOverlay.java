@@ -1,7 +1,8 @@
 package com.github.spookie6.frozen.utils.overlays;
 
+import com.github.spookie6.frozen.utils.render.TextBatch;
+import com.github.spookie6.frozen.utils.render.TextMetrics;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.gui.FontRenderer;
 import org.lwjgl.opengl.GL11;
 
 import java.awt.*;
@@ -17,7 +18,26 @@ public class TextOverlay extends Overlay {
     private BooleanConfigBinding rightAlign = null;
     private IntegerConfigBinding extraWidth = null;
 
-    private String cachedText = "";
+    // Render cache, only rebuilt when the supplied text changes.
+    private String cachedText = null;
+    private int cachedHash = 0;
+    private String[] lines = new String[0];
+    private String[] plainLines = new String[0];
+    private String[] leftParts = new String[0];
+    private String[] rightParts = new String[0];
+    private int[] rightWidths = new int[0];
+
+    // Glyph quads for batched rendering, rebuilt with the render cache or when the style changes.
+    private final TextBatch.Layout layout = new TextBatch.Layout();
+    private boolean layoutValid = false;
+    private int layoutColor, layoutWidth;
+    private boolean layoutShadow, layoutRightAlign;
+
+    // Bumped whenever the rendered output changes, lets OverlayCache skip redrawing unchanged overlays.
+    private long renderVersion = 0;
+    private int versionColor;
+    private double versionScale;
+    private boolean versionShadow, versionRightAlign;
 
     public TextOverlay(BooleanConfigBinding configOption, String displayName, Supplier<String> textSupplier, Supplier<Boolean> renderCondition, String exampleText) {
         super(configOption, displayName, renderCondition);
@@ -28,13 +48,8 @@ public class TextOverlay extends Overlay {
     }
 
     public void render(Minecraft mc) {
-        if (getText().isEmpty()) return;
-        String[] lines = getText().split("\n");
-
-        if (!getText().equals(cachedText)) {
-            cachedText = getText();
-            updateDimensions();
-        }
+        String text = refreshText();
+        if (text == null || text.isEmpty()) return;
 
         GL11.glPushMatrix();
         GL11.glTranslated(x, y, 0);
@@ -44,63 +59,121 @@ public class TextOverlay extends Overlay {
             drawRect(0, 0, this.dimensions.width + padding * 2, this.dimensions.height + padding * 2, new Color(211, 211, 211, 70).getRGB());
         }
 
+        boolean alignRight = rightAlign != null && rightAlign.get();
         for (int i = 0; i < lines.length; i++) {
-            if (rightAlign != null && rightAlign.get()) {
-                String delimiter = "#";
-                String[] parts = lines[i].split(delimiter, 2);
-                String left = parts.length > 0 ? parts[0] : "";
-                String right = parts.length > 1 ? parts[1] : "";
-                int rightWidth = mc.fontRendererObj.getStringWidth(right);
-                mc.fontRendererObj.drawString(left, padding, padding + (i * (mc.fontRendererObj.FONT_HEIGHT + 1)), color.getRGB(), shadow);
-                mc.fontRendererObj.drawString(right, dimensions.width - padding - rightWidth, padding + (i * (mc.fontRendererObj.FONT_HEIGHT + 1)), color.getRGB(), shadow);
-            } else mc.fontRendererObj.drawString(lines[i].replace("#", " "), padding, padding + (i * (mc.fontRendererObj.FONT_HEIGHT + 1)), color.getRGB(), shadow);
+            int lineY = padding + (i * (mc.fontRendererObj.FONT_HEIGHT + 1));
+            if (alignRight) {
+                mc.fontRendererObj.drawString(leftParts[i], padding, lineY, color.getRGB(), shadow);
+                mc.fontRendererObj.drawString(rightParts[i], dimensions.width - padding - rightWidths[i], lineY, color.getRGB(), shadow);
+            } else mc.fontRendererObj.drawString(plainLines[i], padding, lineY, color.getRGB(), shadow);
         }
 
         GL11.glPopMatrix();
     }
 
-    public void updateDimensions() {
-        String content = getText();
-        dimensions = calculateTextDimensions(content);
-    }
+    /**
+     * Adds this overlay's glyphs to the current {@link TextBatch}. Returns false when the text can't
+     * be batched (edit mode, unsupported characters), in which case {@link #render} has to be used.
+     */
+    public boolean addToBatch() {
+        if (inEditMode) return false;
+
+        String text = refreshText();
+        if (text == null || text.isEmpty()) return true;
+
+        boolean alignRight = rightAlign != null && rightAlign.get();
+        int rgb = color.getRGB();
+        if (!layoutValid || layoutColor != rgb || layoutShadow != shadow || layoutRightAlign != alignRight || layoutWidth != dimensions.width) {
+            layoutValid = buildLayout(alignRight, rgb);
+            layoutColor = rgb;
+            layoutShadow = shadow;
+            layoutRightAlign = alignRight;
+            layoutWidth = dimensions.width;
+        }
+        if (!layoutValid) return false;
 
-    public String getText() {
-        return this.inEditMode ? this.exampleText : textSupplier.get();
+        TextBatch.add(layout, x, y, scale);
+        return true;
     }
 
-    private Dimensions calculateTextDimensions(String text) {
-        FontRenderer fontRenderer = mc.fontRendererObj;
-        String[] lines = text.split("\n");
+    private boolean buildLayout(boolean alignRight, int rgb) {
+        layout.clear();
+        for (int i = 0; i < lines.length; i++) {
+            int lineY = padding + (i * (mc.fontRendererObj.FONT_HEIGHT + 1));
+            boolean added = alignRight
+                    ? layout.add(mc.fontRendererObj, leftParts[i], padding, lineY, rgb, shadow)
+                      && layout.add(mc.fontRendererObj, rightParts[i], dimensions.width - padding - rightWidths[i], lineY, rgb, shadow)
+                    : layout.add(mc.fontRendererObj, plainLines[i], padding, lineY, rgb, shadow);
+            if (!added) return false;
+        }
+        return true;
+    }
 
-        int maxWidth = 0;
-        int totalHeight = lines.length == 1 ? fontRenderer.FONT_HEIGHT :  lines.length * (fontRenderer.FONT_HEIGHT + 1) - 3;
+    public long getRenderVersion() {
+        refreshText();
+
+        boolean alignRight = rightAlign != null && rightAlign.get();
+        int rgb = color.getRGB();
+        if (versionColor != rgb || versionScale != scale || versionShadow != shadow || versionRightAlign != alignRight) {
+            versionColor = rgb;
+            versionScale = scale;
+            versionShadow = shadow;
+            versionRightAlign = alignRight;
+            renderVersion++;
+        }
+        return renderVersion;
+    }
 
-        for (String line : lines) {
-            boolean bold = false;
-            int lineWidth = 0;
+    private String refreshText() {
+        String text = cachedText;
+        if (inEditMode || isStale()) {
+            text = getText();
+            markRefreshed();
+        }
+        if (text != null && (text.hashCode() != cachedHash || !text.equals(cachedText))) {
+            rebuildCache(text);
+        }
+        return text;
+    }
 
-            for (int i = 0, len = line.length(); i < len; i++) {
-                char c = line.charAt(i);
+    public void updateDimensions() {
+        String text = getText();
+        rebuildCache(text == null ? "" : text);
+    }
 
-                if (c == '§' && i + 1 < len) {
-                    char code = Character.toLowerCase(line.charAt(++i));
-                    switch (code) {
-                        case 'l': bold = true; break;
-                        case 'r': bold = false; break;
-                    }
-                    continue;
-                }
+    public String getText() {
+        return this.inEditMode ? this.exampleText : textSupplier.get();
+    }
 
-                int charWidth = fontRenderer.getCharWidth(c);
-                if (bold) charWidth++;
+    private void rebuildCache(String text) {
+        cachedText = text;
+        cachedHash = text.hashCode();
+        lines = text.split("\n");
+
+        int n = lines.length;
+        plainLines = new String[n];
+        leftParts = new String[n];
+        rightParts = new String[n];
+        rightWidths = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            String line = lines[i];
+            int delimiter = line.indexOf('#');
+
+            plainLines[i] = line.replace("#", " ");
+            leftParts[i] = delimiter < 0 ? line : line.substring(0, delimiter);
+            rightParts[i] = delimiter < 0 ? "" : line.substring(delimiter + 1);
+            rightWidths[i] = TextMetrics.getWidth(rightParts[i]);
+        }
 
-                lineWidth += charWidth;
-            }
+        dimensions = calculateTextDimensions(lines);
+        layoutValid = false;
+        renderVersion++;
+    }
 
-            if (lineWidth > maxWidth) {
-                maxWidth = lineWidth;
-            }
-        }
+    private Dimensions calculateTextDimensions(String[] lines) {
+        int maxWidth = TextMetrics.getMaxWidth(lines);
+        int totalHeight = lines.length == 1 ? mc.fontRendererObj.FONT_HEIGHT :  lines.length * (mc.fontRendererObj.FONT_HEIGHT + 1) - 3;
 
         return new Dimensions((rightAlign != null && rightAlign.get()) ? maxWidth + (extraWidth == null ? 0 : extraWidth.get()) : maxWidth, totalHeight);
     }
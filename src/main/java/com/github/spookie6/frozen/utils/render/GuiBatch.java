@@ -0,0 +1,106 @@
+package com.github.spookie6.frozen.utils.render;
+
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.WorldRenderer;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import org.lwjgl.opengl.GL11;
+
+import java.util.Arrays;
+
+/**
+ * Collects untextured gui primitives (filled rects, rect outlines and lines) during a screen draw
+ * and draws them in {@link #flush} with a single state setup and one draw call per primitive type.
+ * Colors are ARGB ints.
+ */
+public class GuiBatch {
+    private static final Buffer fills = new Buffer();
+    private static final Buffer lines = new Buffer(); // outlines are added as four lines
+
+    public static void fill(float x, float y, float width, float height, int color) {
+        fills.add(x, y, x + width, y + height, color);
+    }
+
+    public static void outline(float x, float y, float width, float height, int color) {
+        line(x, y, x, y + height, color);
+        line(x, y + height, x + width, y + height, color);
+        line(x + width, y + height, x + width, y, color);
+        line(x + width, y, x, y, color);
+    }
+
+    public static void line(float xStart, float yStart, float xEnd, float yEnd, int color) {
+        lines.add(xStart, yStart, xEnd, yEnd, color);
+    }
+
+    public static boolean isEmpty() {
+        return fills.size == 0 && lines.size == 0;
+    }
+
+    public static void flush(float lineWidth) {
+        if (isEmpty()) return;
+
+        GlStateManager.disableDepth();
+        GlStateManager.enableBlend();
+        GlStateManager.disableTexture2D();
+        GlStateManager.tryBlendFuncSeparate(770, 771, 1, 0);
+
+        Tessellator tess = Tessellator.getInstance();
+        WorldRenderer wr = tess.getWorldRenderer();
+
+        if (fills.size > 0) {
+            wr.begin(GL11.GL_QUADS, DefaultVertexFormats.POSITION_COLOR);
+            for (int i = 0; i < fills.size; i++) {
+                float[] p = fills.points;
+                int o = i * 4;
+                int c = fills.colors[i];
+                vertex(wr, p[o], p[o + 3], c);
+                vertex(wr, p[o + 2], p[o + 3], c);
+                vertex(wr, p[o + 2], p[o + 1], c);
+                vertex(wr, p[o], p[o + 1], c);
+            }
+            tess.draw();
+        }
+
+        if (lines.size > 0) {
+            GL11.glLineWidth(lineWidth);
+            wr.begin(GL11.GL_LINES, DefaultVertexFormats.POSITION_COLOR);
+            for (int i = 0; i < lines.size; i++) {
+                float[] p = lines.points;
+                int o = i * 4;
+                vertex(wr, p[o], p[o + 1], lines.colors[i]);
+                vertex(wr, p[o + 2], p[o + 3], lines.colors[i]);
+            }
+            tess.draw();
+        }
+
+        GlStateManager.enableTexture2D();
+        GlStateManager.disableBlend();
+        GlStateManager.enableDepth();
+
+        fills.size = 0;
+        lines.size = 0;
+    }
+
+    private static void vertex(WorldRenderer wr, float x, float y, int color) {
+        wr.pos(x, y, 0).color(color >> 16 & 255, color >> 8 & 255, color & 255, color >>> 24).endVertex();
+    }
+
+    private static class Buffer {
+        float[] points = new float[64 * 4];
+        int[] colors = new int[64];
+        int size = 0;
+
+        void add(float x1, float y1, float x2, float y2, int color) {
+            if (size == colors.length) {
+                points = Arrays.copyOf(points, points.length * 2);
+                colors = Arrays.copyOf(colors, colors.length * 2);
+            }
+            int o = size * 4;
+            points[o] = x1;
+            points[o + 1] = y1;
+            points[o + 2] = x2;
+            points[o + 3] = y2;
+            colors[size++] = color;
+        }
+    }
+}
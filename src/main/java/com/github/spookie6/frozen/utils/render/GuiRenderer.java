@@ -13,9 +13,76 @@ import net.minecraft.item.ItemStack;
 import org.lwjgl.input.Mouse;
 import org.lwjgl.opengl.GL11;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.github.spookie6.frozen.Frozen.mc;
 
 public class GuiRenderer {
+    private static final List<Slot> batchedSlots = new ArrayList<>();
+
+    /** Queues a slot outline in the {@link GuiBatch}, drawn by {@link #flushSlotBatch}. */
+    public static void batchSlotOutline(GuiScreen gui, Slot slot, OneColor color) {
+        int x = ((AccessorGuiContainer) gui).getGuiLeft_frozen() + slot.xDisplayPosition;
+        int y = ((AccessorGuiContainer) gui).getGuiTop_frozen() + slot.yDisplayPosition;
+
+        GuiBatch.outline(x, y, 16, 16, color.getRGB());
+        batchedSlots.add(slot);
+    }
+
+    /** Queues a line between the edges of two slots in the {@link GuiBatch}, drawn by {@link #flushSlotBatch}. */
+    public static void batchLineBetweenSlots(GuiScreen gui, Slot slot1, Slot slot2, OneColor color) {
+        int left = ((AccessorGuiContainer) gui).getGuiLeft_frozen();
+        int top = ((AccessorGuiContainer) gui).getGuiTop_frozen();
+
+        float cx1 = left + slot1.xDisplayPosition + 8;
+        float cy1 = top + slot1.yDisplayPosition + 8;
+
+        float cx2 = left + slot2.xDisplayPosition + 8;
+        float cy2 = top + slot2.yDisplayPosition + 8;
+
+        float[] start = intersectSlotEdge(cx1, cy1, cx2, cy2);
+        float[] end   = intersectSlotEdge(cx2, cy2, cx1, cy1);
+
+        GuiBatch.line(start[0], start[1], end[0], end[1], color.getRGB());
+    }
+
+    /** Draws the queued slot primitives, then the outlined slots' items and the held stack on top once. */
+    public static void flushSlotBatch(GuiScreen gui, float thickness) {
+        if (GuiBatch.isEmpty()) return;
+        GuiBatch.flush(thickness);
+
+        int left = ((AccessorGuiContainer) gui).getGuiLeft_frozen();
+        int top = ((AccessorGuiContainer) gui).getGuiTop_frozen();
+        for (Slot slot : batchedSlots) renderSlotItem(slot, left + slot.xDisplayPosition, top + slot.yDisplayPosition);
+        batchedSlots.clear();
+
+        renderHeldStack(gui);
+    }
+
+    private static void renderSlotItem(Slot slot, int x, int y) {
+        ItemStack stack = slot.getStack();
+        if (stack == null) return;
+
+        RenderHelper.enableGUIStandardItemLighting();
+        mc.getRenderItem().renderItemAndEffectIntoGUI(stack, x, y);
+        mc.getRenderItem().renderItemOverlayIntoGUI(mc.fontRendererObj, stack, x, y, null);
+        RenderHelper.disableStandardItemLighting();
+    }
+
+    private static void renderHeldStack(GuiScreen gui) {
+        ItemStack heldStack = mc.thePlayer.inventory.getItemStack();
+        if (heldStack == null) return;
+
+        int mouseX = Mouse.getX() * gui.width / mc.displayWidth;
+        int mouseY = gui.height - Mouse.getY() * gui.height / mc.displayHeight - 1;
+
+        RenderHelper.enableGUIStandardItemLighting();
+        mc.getRenderItem().renderItemAndEffectIntoGUI(heldStack, mouseX - 8, mouseY - 8);
+        mc.getRenderItem().renderItemOverlayIntoGUI(mc.fontRendererObj, heldStack, mouseX - 8, mouseY - 8, null);
+        RenderHelper.disableStandardItemLighting();
+    }
+
     public static void drawFilledSlot(GuiScreen gui, Slot slot, OneColor color) {
         try {
             int left = ((AccessorGuiContainer) gui).getGuiLeft_frozen();
@@ -41,24 +108,8 @@ public class GuiRenderer {
             GlStateManager.enableTexture2D();
             GlStateManager.disableBlend();
 
-            ItemStack stack = slot.getStack();
-            if (stack != null) {
-                RenderHelper.enableGUIStandardItemLighting();
-                mc.getRenderItem().renderItemAndEffectIntoGUI(stack, x, y);
-                mc.getRenderItem().renderItemOverlayIntoGUI(mc.fontRendererObj, stack, x, y, null);
-                RenderHelper.disableStandardItemLighting();
-            }
-
-            ItemStack heldStack = mc.thePlayer.inventory.getItemStack();
-            if (heldStack != null) {
-                int mouseX = Mouse.getX() * gui.width / mc.displayWidth;
-                int mouseY = gui.height - Mouse.getY() * gui.height / mc.displayHeight - 1;
-
-                RenderHelper.enableGUIStandardItemLighting();
-                mc.getRenderItem().renderItemAndEffectIntoGUI(heldStack, mouseX - 8, mouseY - 8);
-                mc.getRenderItem().renderItemOverlayIntoGUI(mc.fontRendererObj, heldStack, mouseX - 8, mouseY - 8, null);
-                RenderHelper.disableStandardItemLighting();
-            }
+            renderSlotItem(slot, x, y);
+            renderHeldStack(gui);
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -96,24 +147,8 @@ public class GuiRenderer {
             GlStateManager.enableDepth();
 
 
-            ItemStack stack = slot.getStack();
-            if (stack != null) {
-                RenderHelper.enableGUIStandardItemLighting();
-                mc.getRenderItem().renderItemAndEffectIntoGUI(stack, x, y);
-                mc.getRenderItem().renderItemOverlayIntoGUI(mc.fontRendererObj, stack, x, y, null);
-                RenderHelper.disableStandardItemLighting();
-            }
-
-            ItemStack heldStack = mc.thePlayer.inventory.getItemStack();
-            if (heldStack != null) {
-                int mouseX = Mouse.getX() * gui.width / mc.displayWidth;
-                int mouseY = gui.height - Mouse.getY() * gui.height / mc.displayHeight - 1;
-
-                RenderHelper.enableGUIStandardItemLighting();
-                mc.getRenderItem().renderItemAndEffectIntoGUI(heldStack, mouseX - 8, mouseY - 8);
-                mc.getRenderItem().renderItemOverlayIntoGUI(mc.fontRendererObj, heldStack, mouseX - 8, mouseY - 8, null);
-                RenderHelper.disableStandardItemLighting();
-            }
+            renderSlotItem(slot, x, y);
+            renderHeldStack(gui);
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -0,0 +1,133 @@
+package com.github.spookie6.frozen.utils.render;
+
+import com.github.spookie6.frozen.utils.overlays.DirtyRegionTracker;
+import com.github.spookie6.frozen.utils.overlays.Overlay;
+import com.github.spookie6.frozen.utils.overlays.TextOverlay;
+import net.minecraft.client.gui.ScaledResolution;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.WorldRenderer;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.shader.Framebuffer;
+import org.lwjgl.opengl.GL11;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.spookie6.frozen.Frozen.mc;
+
+/**
+ * Keeps text overlays rendered in an offscreen framebuffer. Each frame only the screen regions
+ * reported dirty by the {@link DirtyRegionTracker} are cleared and redrawn, after which the whole
+ * cache is drawn to the screen as a single textured quad. Non text overlays are drawn directly.
+ */
+public class OverlayCache {
+    private static final DirtyRegionTracker tracker = new DirtyRegionTracker();
+    private static final List<TextOverlay> cached = new ArrayList<>();
+    private static final List<Overlay> direct = new ArrayList<>();
+
+    private static Framebuffer framebuffer = null;
+    private static int scaleFactor = 0;
+
+    public static boolean isSupported() {
+        return OpenGlHelper.isFramebufferEnabled();
+    }
+
+    public static void render(List<Overlay> overlays) {
+        ScaledResolution res = new ScaledResolution(mc);
+        updateFramebuffer(res);
+
+        cached.clear();
+        direct.clear();
+        tracker.beginFrame();
+        for (Overlay overlay : overlays) {
+            if (!overlay.isVisible()) continue;
+            if (!(overlay instanceof TextOverlay)) {
+                direct.add(overlay);
+                continue;
+            }
+
+            TextOverlay textOverlay = (TextOverlay) overlay;
+            long version = textOverlay.getRenderVersion();
+            cached.add(textOverlay);
+            tracker.track(textOverlay, textOverlay.getX(), textOverlay.getY(), textOverlay.getWidth(), textOverlay.getHeight(), version);
+        }
+        tracker.endFrame();
+
+        if (tracker.hasDirtyRegions()) redraw(res);
+
+        drawFramebuffer(res);
+        for (Overlay overlay : direct) overlay.render(mc);
+    }
+
+    /** Drops the cached framebuffer so it gets recreated and fully redrawn next frame. */
+    public static void invalidate() {
+        if (framebuffer != null) framebuffer.deleteFramebuffer();
+        framebuffer = null;
+    }
+
+    private static void updateFramebuffer(ScaledResolution res) {
+        if (framebuffer == null) {
+            framebuffer = new Framebuffer(mc.displayWidth, mc.displayHeight, false);
+            framebuffer.setFramebufferColor(0f, 0f, 0f, 0f);
+        } else if (framebuffer.framebufferWidth != mc.displayWidth || framebuffer.framebufferHeight != mc.displayHeight) {
+            framebuffer.createBindFramebuffer(mc.displayWidth, mc.displayHeight);
+        } else if (scaleFactor == res.getScaleFactor()) {
+            return;
+        }
+
+        scaleFactor = res.getScaleFactor();
+        framebuffer.framebufferClear();
+        tracker.invalidateAll(res.getScaledWidth(), res.getScaledHeight());
+    }
+
+    private static void redraw(ScaledResolution res) {
+        framebuffer.bindFramebuffer(true);
+        GL11.glEnable(GL11.GL_SCISSOR_TEST);
+        GlStateManager.clearColor(0f, 0f, 0f, 0f);
+
+        for (DirtyRegionTracker.Region region : tracker.getDirtyRegions()) {
+            // Overlay bounds are truncated to ints, grow the region a pixel so edges don't get left behind.
+            int x = (region.x - 1) * scaleFactor;
+            int y = mc.displayHeight - (region.y + region.height + 1) * scaleFactor;
+            GL11.glScissor(x, y, (region.width + 2) * scaleFactor, (region.height + 2) * scaleFactor);
+            GlStateManager.clear(GL11.GL_COLOR_BUFFER_BIT);
+
+            TextBatch.begin();
+            for (TextOverlay overlay : cached) {
+                if (!region.intersects(overlay.getX() - 1, overlay.getY() - 1, overlay.getWidth() + 2, overlay.getHeight() + 2)) continue;
+                if (!overlay.addToBatch()) overlay.render(mc);
+            }
+            TextBatch.flush();
+        }
+
+        GL11.glDisable(GL11.GL_SCISSOR_TEST);
+        mc.getFramebuffer().bindFramebuffer(true);
+    }
+
+    private static void drawFramebuffer(ScaledResolution res) {
+        double width = res.getScaledWidth_double();
+        double height = res.getScaledHeight_double();
+        float u = (float) framebuffer.framebufferWidth / framebuffer.framebufferTextureWidth;
+        float v = (float) framebuffer.framebufferHeight / framebuffer.framebufferTextureHeight;
+
+        GlStateManager.enableTexture2D();
+        GlStateManager.enableBlend();
+        GlStateManager.tryBlendFuncSeparate(770, 771, 1, 0);
+        GlStateManager.color(1f, 1f, 1f, 1f);
+        framebuffer.bindFramebufferTexture();
+
+        Tessellator tessellator = Tessellator.getInstance();
+        WorldRenderer wr = tessellator.getWorldRenderer();
+        wr.begin(GL11.GL_QUADS, DefaultVertexFormats.POSITION_TEX);
+        wr.pos(0, height, 0).tex(0, 0).endVertex();
+        wr.pos(width, height, 0).tex(u, 0).endVertex();
+        wr.pos(width, 0, 0).tex(u, v).endVertex();
+        wr.pos(0, 0, 0).tex(0, v).endVertex();
+        tessellator.draw();
+
+        framebuffer.unbindFramebufferTexture();
+        GlStateManager.disableBlend();
+    }
+}
@@ -10,24 +10,91 @@ import net.minecraft.entity.Entity;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.Vec3;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 import org.lwjgl.opengl.GL11;
 
+import java.util.Arrays;
+
 public class RenderUtils {
     public static ResourceLocation beaconBeam = new ResourceLocation("textures/entity/beacon_beam.png");
     public static Tessellator tessellator = Tessellator.getInstance();
     public static WorldRenderer wr = tessellator.getWorldRenderer();
 
+    // Interpolated positions for the current frame, keyed by entity id with linear probing.
+    private static int[] cachedIds = new int[256];
+    private static double[] cachedPositions = new double[256 * 3];
+    private static int cachedCount = 0;
+    private static float framePartialTicks = Float.NaN;
+
+    static {
+        Arrays.fill(cachedIds, -1);
+    }
+
+    @SubscribeEvent
+    public void onRenderTick(TickEvent.RenderTickEvent e) {
+        if (e.phase != TickEvent.Phase.START) return;
+        framePartialTicks = e.renderTickTime;
+        if (cachedCount == 0) return;
+        Arrays.fill(cachedIds, -1);
+        cachedCount = 0;
+    }
+
+    /** Returns the offset of the entity's interpolated x, y and z in {@link #cachedPositions}. */
+    private static int getCachedOffset(Entity entity) {
+        if (cachedCount * 2 >= cachedIds.length) growCache();
+
+        int id = entity.getEntityId();
+        int mask = cachedIds.length - 1;
+        int i = (id * 0x9E3779B9) >>> 1 & mask;
+        while (cachedIds[i] != -1) {
+            if (cachedIds[i] == id) return i * 3;
+            i = (i + 1) & mask;
+        }
+
+        cachedIds[i] = id;
+        cachedCount++;
+        int offset = i * 3;
+        cachedPositions[offset] = interpolate(entity.lastTickPosX, entity.posX, framePartialTicks);
+        cachedPositions[offset + 1] = interpolate(entity.lastTickPosY, entity.posY, framePartialTicks);
+        cachedPositions[offset + 2] = interpolate(entity.lastTickPosZ, entity.posZ, framePartialTicks);
+        return offset;
+    }
+
+    private static void growCache() {
+        int[] ids = cachedIds;
+        double[] positions = cachedPositions;
+        cachedIds = new int[ids.length * 2];
+        cachedPositions = new double[positions.length * 2];
+        Arrays.fill(cachedIds, -1);
+
+        int mask = cachedIds.length - 1;
+        for (int j = 0; j < ids.length; j++) {
+            if (ids[j] == -1) continue;
+            int i = (ids[j] * 0x9E3779B9) >>> 1 & mask;
+            while (cachedIds[i] != -1) i = (i + 1) & mask;
+            cachedIds[i] = ids[j];
+            System.arraycopy(positions, j * 3, cachedPositions, i * 3, 3);
+        }
+    }
 
-    private static double getEntityRenderX (Entity entity, float partialTicks) {
-        return entity.lastTickPosX + (entity.posX - entity.lastTickPosX) * partialTicks;
+    private static double interpolate(double last, double current, float partialTicks) {
+        return last + (current - last) * partialTicks;
     }
 
-    private static double getEntityRenderY (Entity entity, float partialTicks) {
-        return entity.lastTickPosY + (entity.posY - entity.lastTickPosY) * partialTicks;
+    public static double getEntityRenderX(Entity entity, float partialTicks) {
+        if (partialTicks != framePartialTicks) return interpolate(entity.lastTickPosX, entity.posX, partialTicks);
+        return cachedPositions[getCachedOffset(entity)];
     }
 
-    private static double getEntityRenderZ (Entity entity, float partialTicks) {
-        return entity.lastTickPosZ + (entity.posZ - entity.lastTickPosZ) * partialTicks;
+    public static double getEntityRenderY(Entity entity, float partialTicks) {
+        if (partialTicks != framePartialTicks) return interpolate(entity.lastTickPosY, entity.posY, partialTicks);
+        return cachedPositions[getCachedOffset(entity) + 1];
+    }
+
+    public static double getEntityRenderZ(Entity entity, float partialTicks) {
+        if (partialTicks != framePartialTicks) return interpolate(entity.lastTickPosZ, entity.posZ, partialTicks);
+        return cachedPositions[getCachedOffset(entity) + 2];
     }
 
     public static Vec3 getEntityRenderVec(Entity entity, float partialTicks) {
@@ -38,14 +105,10 @@ public class RenderUtils {
     }
 
     public static AxisAlignedBB getEntityRenderBoundingBox(Entity entity, float partialTicks) {
-        return new AxisAlignedBB(
-                getEntityRenderX(entity, partialTicks) - entity.width / 2,
-                getEntityRenderY(entity, partialTicks),
-                getEntityRenderZ(entity, partialTicks) - entity.width / 2,
-                getEntityRenderX(entity, partialTicks) + entity.width / 2,
-                getEntityRenderY(entity, partialTicks) + entity.height,
-                getEntityRenderZ(entity, partialTicks) + entity.width / 2
-        );
+        double x = getEntityRenderX(entity, partialTicks);
+        double y = getEntityRenderY(entity, partialTicks);
+        double z = getEntityRenderZ(entity, partialTicks);
+        return new AxisAlignedBB(x - entity.width / 2, y, z - entity.width / 2, x + entity.width / 2, y + entity.height, z + entity.width / 2);
     }
 
     public static AxisAlignedBB getAABBOutlineBounds(AxisAlignedBB axisAlignedBB) {
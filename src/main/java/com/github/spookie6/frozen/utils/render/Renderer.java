@@ -14,8 +14,12 @@ public class Renderer {
     private final static WorldRenderer wr = tessellator.getWorldRenderer();
 
     public static void drawOutlinedAABB(AxisAlignedBB aabb, OneColor color, boolean depth, boolean smoothLines, float thickness) {
-        if (color.getAlpha() == 0) return;
+        if (color.getAlpha() == 0 || !WorldCuller.isVisible(aabb)) return;
+        outlinedAABB(aabb, color, depth, smoothLines, thickness);
+    }
 
+    // Draws without culling, callers have already passed the box through the WorldCuller
+    private static void outlinedAABB(AxisAlignedBB aabb, OneColor color, boolean depth, boolean smoothLines, float thickness) {
         GlStateManager.pushMatrix();
         RenderUtils.preRender(true);
 
@@ -41,8 +45,11 @@ public class Renderer {
     }
 
     public static void drawFilledAABB(AxisAlignedBB aabb, OneColor color, boolean depth) {
-        if (color.getAlpha() == 0) return;
+        if (color.getAlpha() == 0 || !WorldCuller.isVisible(aabb)) return;
+        filledAABB(aabb, color, depth);
+    }
 
+    private static void filledAABB(AxisAlignedBB aabb, OneColor color, boolean depth) {
         GlStateManager.pushMatrix();
         GlStateManager.disableCull();
         RenderUtils.preRender(true);
@@ -63,18 +70,18 @@ public class Renderer {
         int x = blockPos.getX();
         int y = blockPos.getY();
         int z = blockPos.getZ();
+        if (color.getAlpha() == 0 || !WorldCuller.isVisible(x, y, z, x + 1, y + 1, z + 1)) return;
 
-        AxisAlignedBB aabb = new AxisAlignedBB(x, y, z, x + 1, y + 1, z + 1);
-        drawOutlinedAABB(aabb, color, depth, smoothLines, thickness);
+        outlinedAABB(new AxisAlignedBB(x, y, z, x + 1, y + 1, z + 1), color, depth, smoothLines, thickness);
     }
 
     public static void drawFilledBlock(BlockPos blockPos, OneColor color, boolean depth) {
         int x = blockPos.getX();
         int y = blockPos.getY();
         int z = blockPos.getZ();
+        if (color.getAlpha() == 0 || !WorldCuller.isVisible(x, y, z, x + 1, y + 1, z + 1)) return;
 
-        AxisAlignedBB aabb = new AxisAlignedBB(x, y, z, x + 1, y + 1, z + 1);
-        drawFilledAABB(aabb, color, depth);
+        filledAABB(new AxisAlignedBB(x, y, z, x + 1, y + 1, z + 1), color, depth);
     }
 
     public static void drawEntityAABB(Entity entity, OneColor color, boolean depth, boolean smoothLines, float thickness, float partialTicks) {
@@ -0,0 +1,187 @@
+package com.github.spookie6.frozen.utils.render;
+
+import com.github.spookie6.frozen.mixin.AccessorFontRenderer;
+import net.minecraft.client.gui.FontRenderer;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.WorldRenderer;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import org.lwjgl.opengl.GL11;
+
+import static com.github.spookie6.frozen.Frozen.mc;
+
+/**
+ * Batched HUD text renderer. Text is laid out once into a {@link Layout} of glyph quads on the
+ * default (ascii) font page, then every frame all layouts are transformed on the CPU into a single
+ * Tessellator buffer and drawn with one texture bind and one draw call.
+ * <p>
+ * Only plain ascii text with color, bold and italic codes is supported, anything else (unicode
+ * glyphs, obfuscated/underlined/strikethrough text, forced unicode font) makes {@link Layout#add}
+ * return false so the caller can fall back to {@link FontRenderer#drawString}.
+ */
+public class TextBatch {
+    private static final String FORMATTING_CODES = "0123456789abcdefklmnor";
+    private static final int[] colorCodes = new int[32];
+
+    private static final Tessellator tessellator = Tessellator.getInstance();
+    private static final WorldRenderer wr = tessellator.getWorldRenderer();
+    private static boolean drawing = false;
+
+    static {
+        for (int i = 0; i < 32; i++) {
+            int j = (i >> 3 & 1) * 85;
+            int r = (i >> 2 & 1) * 170 + j;
+            int g = (i >> 1 & 1) * 170 + j;
+            int b = (i & 1) * 170 + j;
+            if (i == 6) r += 85;
+            if (i >= 16) {
+                r /= 4;
+                g /= 4;
+                b /= 4;
+            }
+            colorCodes[i] = (r & 255) << 16 | (g & 255) << 8 | b & 255;
+        }
+    }
+
+    public static void begin() {
+        drawing = false;
+    }
+
+    public static void add(Layout layout, double x, double y, double scale) {
+        if (layout.glyphs == 0) return;
+        if (!drawing) {
+            wr.begin(GL11.GL_QUADS, DefaultVertexFormats.POSITION_TEX_COLOR);
+            drawing = true;
+        }
+
+        float[] g = layout.data;
+        for (int i = 0; i < layout.glyphs; i++) {
+            int o = i * Layout.STRIDE;
+            float gx = g[o], gy = g[o + 1], u = g[o + 2], v = g[o + 3], w = g[o + 4], k = g[o + 5];
+            int color = layout.colors[i];
+            int a = color >>> 24 & 255, r = color >> 16 & 255, gr = color >> 8 & 255, b = color & 255;
+
+            float u1 = u + (w - 1) / 128f;
+            float v1 = v + 7.99f / 128f;
+
+            wr.pos(x + (gx + k) * scale, y + gy * scale, 0).tex(u, v).color(r, gr, b, a).endVertex();
+            wr.pos(x + (gx - k) * scale, y + (gy + 7.99f) * scale, 0).tex(u, v1).color(r, gr, b, a).endVertex();
+            wr.pos(x + (gx + w - 1 - k) * scale, y + (gy + 7.99f) * scale, 0).tex(u1, v1).color(r, gr, b, a).endVertex();
+            wr.pos(x + (gx + w - 1 + k) * scale, y + gy * scale, 0).tex(u1, v).color(r, gr, b, a).endVertex();
+        }
+    }
+
+    public static void flush() {
+        if (!drawing) return;
+        drawing = false;
+
+        GlStateManager.enableTexture2D();
+        GlStateManager.enableBlend();
+        GlStateManager.tryBlendFuncSeparate(770, 771, 1, 0);
+        GlStateManager.color(1f, 1f, 1f, 1f);
+        mc.getTextureManager().bindTexture(((AccessorFontRenderer) mc.fontRendererObj).getLocationFontTexture_frozen());
+
+        tessellator.draw();
+
+        GlStateManager.disableBlend();
+    }
+
+    public static class Layout {
+        // x, y, u, v, glyph width, italic skew
+        static final int STRIDE = 6;
+
+        private float[] data = new float[STRIDE * 64];
+        private int[] colors = new int[64];
+        private int glyphs = 0;
+
+        public void clear() {
+            glyphs = 0;
+        }
+
+        /** Lays out a string the same way {@link FontRenderer#drawString(String, float, float, int, boolean)} does. */
+        public boolean add(FontRenderer fontRenderer, String text, float x, float y, int color, boolean shadow) {
+            if (!isSupported(fontRenderer, text)) return false;
+            if ((color & 0xFC000000) == 0) color |= 0xFF000000;
+
+            if (shadow) addPass(fontRenderer, text, x + 1, y + 1, (color & 0xFCFCFC) >> 2 | color & 0xFF000000, true);
+            addPass(fontRenderer, text, x, y, color, false);
+            return true;
+        }
+
+        private void addPass(FontRenderer fontRenderer, String text, float x, float y, int color, boolean shadow) {
+            int alpha = color & 0xFF000000;
+            int current = color;
+            boolean bold = false, italic = false;
+
+            for (int i = 0, len = text.length(); i < len; i++) {
+                char c = text.charAt(i);
+
+                if (c == '§' && i + 1 < len) {
+                    int code = FORMATTING_CODES.indexOf(Character.toLowerCase(text.charAt(++i)));
+                    if (code < 16) {
+                        bold = false;
+                        italic = false;
+                        if (code < 0) code = 15;
+                        current = alpha | colorCodes[shadow ? code + 16 : code];
+                    } else if (code == 17) bold = true;
+                    else if (code == 20) italic = true;
+                    else if (code == 21) {
+                        bold = false;
+                        italic = false;
+                        current = color;
+                    }
+                    continue;
+                }
+
+                if (c == ' ') {
+                    // Vanilla adds the bold offset to spaces too, see TextMetrics.boldWidths
+                    x += bold ? 5 : 4;
+                    continue;
+                }
+
+                int width = fontRenderer.getCharWidth(c);
+                glyph(x, y, c, width - 0.01f, italic, current);
+                if (bold) {
+                    glyph(x + 1, y, c, width - 0.01f, italic, current);
+                    width++;
+                }
+                x += width;
+            }
+        }
+
+        private void glyph(float x, float y, char c, float width, boolean italic, int color) {
+            if ((glyphs + 1) * STRIDE > data.length) {
+                float[] grownData = new float[data.length * 2];
+                int[] grownColors = new int[colors.length * 2];
+                System.arraycopy(data, 0, grownData, 0, glyphs * STRIDE);
+                System.arraycopy(colors, 0, grownColors, 0, glyphs);
+                data = grownData;
+                colors = grownColors;
+            }
+
+            int o = glyphs * STRIDE;
+            data[o] = x;
+            data[o + 1] = y;
+            data[o + 2] = (c % 16 * 8) / 128f;
+            data[o + 3] = (c / 16 * 8) / 128f;
+            data[o + 4] = width;
+            data[o + 5] = italic ? 1 : 0;
+            colors[glyphs++] = color;
+        }
+
+        private static boolean isSupported(FontRenderer fontRenderer, String text) {
+            if (fontRenderer.getUnicodeFlag()) return false;
+
+            for (int i = 0, len = text.length(); i < len; i++) {
+                char c = text.charAt(i);
+                if (c == '§' && i + 1 < len) {
+                    char code = Character.toLowerCase(text.charAt(++i));
+                    if (code == 'k' || code == 'm' || code == 'n') return false;
+                    continue;
+                }
+                if (c < 32 || c > 126) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.spookie6.frozen.utils.render;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Flat glyph width table for measuring formatted text without going through the FontRenderer.
+ * Filled from the font on every resource reload, measuring a line is then a plain array walk that
+ * follows the same formatting rules as {@code FontRenderer#getStringWidth}.
+ */
+public class TextMetrics {
+    private static final int[] widths = new int[Character.MAX_VALUE + 1];
+    private static final int[] boldWidths = new int[Character.MAX_VALUE + 1];
+
+    /** Rebuilds the width tables, {@code charWidth} gets called once for every char. */
+    public static void load(IntUnaryOperator charWidth) {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            int width = charWidth.applyAsInt(c);
+            widths[c] = width;
+            boldWidths[c] = width > 0 ? width + 1 : width;
+        }
+    }
+
+    public static int getCharWidth(char c) {
+        return widths[c];
+    }
+
+    public static int getWidth(String text) {
+        return getWidth(text, 0, text.length());
+    }
+
+    public static int getWidth(String text, int start, int end) {
+        int width = 0;
+        boolean bold = false;
+
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+
+            if (c == '§' && i + 1 < end) {
+                char code = text.charAt(++i);
+                if (code == 'l' || code == 'L') bold = true;
+                else if (code == 'r' || code == 'R') bold = false;
+                continue;
+            }
+
+            // A trailing section sign counts as -1 in vanilla too
+            width += bold ? boldWidths[c] : widths[c];
+        }
+        return width;
+    }
+
+    public static int getMaxWidth(String[] lines) {
+        int max = 0;
+        for (String line : lines) max = Math.max(max, getWidth(line));
+        return max;
+    }
+}
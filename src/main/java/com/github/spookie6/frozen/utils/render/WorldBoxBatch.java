@@ -0,0 +1,171 @@
+package com.github.spookie6.frozen.utils.render;
+
+import cc.polyfrost.oneconfig.config.core.OneColor;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.WorldRenderer;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraftforge.client.event.RenderWorldLastEvent;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import org.lwjgl.opengl.GL11;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects world space boxes during {@link RenderWorldLastEvent} and draws them after every other
+ * handler, with one state setup and one draw call per (depth, smooth lines, thickness, filled)
+ * combination. Colors are per vertex, so boxes of different colors still share a draw.
+ */
+public class WorldBoxBatch {
+    private static final Tessellator tessellator = Tessellator.getInstance();
+    private static final WorldRenderer wr = tessellator.getWorldRenderer();
+    private static final Map<Long, Bucket> buckets = new LinkedHashMap<>();
+    private static long lastKey;
+    private static Bucket lastBucket;
+
+    public static void addOutlinedAABB(AxisAlignedBB aabb, OneColor color, boolean depth, boolean smoothLines, float thickness) {
+        add(aabb.minX, aabb.minY, aabb.minZ, aabb.maxX, aabb.maxY, aabb.maxZ, color, key(depth, smoothLines, thickness, false));
+    }
+
+    public static void addFilledAABB(AxisAlignedBB aabb, OneColor color, boolean depth) {
+        add(aabb.minX, aabb.minY, aabb.minZ, aabb.maxX, aabb.maxY, aabb.maxZ, color, key(depth, false, 0, true));
+    }
+
+    /** Queues the entity's interpolated bounding box without allocating one. */
+    public static void addEntityAABB(Entity entity, OneColor color, boolean depth, boolean smoothLines, float thickness, float partialTicks) {
+        double x = RenderUtils.getEntityRenderX(entity, partialTicks);
+        double y = RenderUtils.getEntityRenderY(entity, partialTicks);
+        double z = RenderUtils.getEntityRenderZ(entity, partialTicks);
+        double halfWidth = entity.width / 2;
+        add(x - halfWidth, y, z - halfWidth, x + halfWidth, y + entity.height, z + halfWidth, color, key(depth, smoothLines, thickness, false));
+    }
+
+    private static long key(boolean depth, boolean smoothLines, float thickness, boolean filled) {
+        return (long) Float.floatToIntBits(thickness) << 3 | (depth ? 4 : 0) | (smoothLines ? 2 : 0) | (filled ? 1 : 0);
+    }
+
+    private static void add(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, OneColor color, long key) {
+        if (color.getAlpha() == 0 || !WorldCuller.isVisible(minX, minY, minZ, maxX, maxY, maxZ)) return;
+
+        // Features usually queue all their boxes with one style, so skip the boxed map lookup for repeats.
+        if (lastBucket == null || key != lastKey) {
+            lastBucket = buckets.get(key);
+            if (lastBucket == null) buckets.put(key, lastBucket = new Bucket());
+            lastKey = key;
+        }
+        lastBucket.add(minX, minY, minZ, maxX, maxY, maxZ, color.getRGB());
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onRenderWorld(RenderWorldLastEvent e) {
+        flush();
+    }
+
+    public static void flush() {
+        boolean empty = true;
+        for (Bucket bucket : buckets.values()) empty &= bucket.size == 0;
+        if (empty) return;
+
+        GlStateManager.pushMatrix();
+        RenderUtils.preRender(true);
+
+        for (Map.Entry<Long, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            if (bucket.size == 0) continue;
+
+            long key = entry.getKey();
+            boolean filled = (key & 1) != 0;
+            boolean smoothLines = (key & 2) != 0;
+            boolean depth = (key & 4) != 0;
+
+            RenderUtils.setDepth(depth);
+            if (filled) {
+                GlStateManager.disableCull();
+            } else {
+                if (smoothLines) {
+                    GL11.glEnable(GL11.GL_LINE_SMOOTH);
+                    GL11.glHint(GL11.GL_LINE_SMOOTH_HINT, GL11.GL_NICEST);
+                }
+                GL11.glLineWidth(Float.intBitsToFloat((int) (key >>> 3)));
+            }
+
+            wr.begin(filled ? GL11.GL_QUADS : GL11.GL_LINES, DefaultVertexFormats.POSITION_COLOR);
+            for (int i = 0; i < bucket.size; i++) {
+                if (filled) addFilledBox(bucket.boxes, i * 6, bucket.colors[i]);
+                else addOutlinedBox(bucket.boxes, i * 6, bucket.colors[i]);
+            }
+            tessellator.draw();
+
+            if (filled) GlStateManager.enableCull();
+            else {
+                if (smoothLines) GL11.glDisable(GL11.GL_LINE_SMOOTH);
+                GL11.glLineWidth(1f);
+            }
+            if (!depth) RenderUtils.resetDepth();
+            bucket.size = 0;
+        }
+
+        RenderUtils.postRender();
+        GlStateManager.popMatrix();
+    }
+
+    private static void addFilledBox(double[] b, int o, int color) {
+        double minX = b[o], minY = b[o + 1], minZ = b[o + 2], maxX = b[o + 3], maxY = b[o + 4], maxZ = b[o + 5];
+
+        vertex(minX, minY, minZ, color); vertex(maxX, minY, minZ, color); vertex(maxX, minY, maxZ, color); vertex(minX, minY, maxZ, color);
+        vertex(minX, maxY, minZ, color); vertex(minX, maxY, maxZ, color); vertex(maxX, maxY, maxZ, color); vertex(maxX, maxY, minZ, color);
+        vertex(minX, minY, minZ, color); vertex(minX, maxY, minZ, color); vertex(maxX, maxY, minZ, color); vertex(maxX, minY, minZ, color);
+        vertex(minX, minY, maxZ, color); vertex(maxX, minY, maxZ, color); vertex(maxX, maxY, maxZ, color); vertex(minX, maxY, maxZ, color);
+        vertex(minX, minY, minZ, color); vertex(minX, minY, maxZ, color); vertex(minX, maxY, maxZ, color); vertex(minX, maxY, minZ, color);
+        vertex(maxX, minY, minZ, color); vertex(maxX, maxY, minZ, color); vertex(maxX, maxY, maxZ, color); vertex(maxX, minY, maxZ, color);
+    }
+
+    private static void addOutlinedBox(double[] b, int o, int color) {
+        double minX = b[o], minY = b[o + 1], minZ = b[o + 2], maxX = b[o + 3], maxY = b[o + 4], maxZ = b[o + 5];
+
+        // Bottom and top edges
+        for (int i = 0; i < 2; i++) {
+            double y = i == 0 ? minY : maxY;
+            vertex(minX, y, minZ, color); vertex(maxX, y, minZ, color);
+            vertex(maxX, y, minZ, color); vertex(maxX, y, maxZ, color);
+            vertex(maxX, y, maxZ, color); vertex(minX, y, maxZ, color);
+            vertex(minX, y, maxZ, color); vertex(minX, y, minZ, color);
+        }
+
+        // Vertical edges
+        vertex(minX, minY, minZ, color); vertex(minX, maxY, minZ, color);
+        vertex(maxX, minY, minZ, color); vertex(maxX, maxY, minZ, color);
+        vertex(maxX, minY, maxZ, color); vertex(maxX, maxY, maxZ, color);
+        vertex(minX, minY, maxZ, color); vertex(minX, maxY, maxZ, color);
+    }
+
+    private static void vertex(double x, double y, double z, int color) {
+        wr.pos(x, y, z).color(color >> 16 & 255, color >> 8 & 255, color & 255, color >>> 24).endVertex();
+    }
+
+    private static class Bucket {
+        double[] boxes = new double[16 * 6];
+        int[] colors = new int[16];
+        int size = 0;
+
+        void add(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, int color) {
+            if (size == colors.length) {
+                boxes = Arrays.copyOf(boxes, boxes.length * 2);
+                colors = Arrays.copyOf(colors, colors.length * 2);
+            }
+            int o = size * 6;
+            boxes[o] = minX;
+            boxes[o + 1] = minY;
+            boxes[o + 2] = minZ;
+            boxes[o + 3] = maxX;
+            boxes[o + 4] = maxY;
+            boxes[o + 5] = maxZ;
+            colors[size++] = color;
+        }
+    }
+}
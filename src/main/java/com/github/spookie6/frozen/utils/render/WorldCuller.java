@@ -0,0 +1,127 @@
+package com.github.spookie6.frozen.utils.render;
+
+import com.github.spookie6.frozen.config.ModConfig;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.GLAllocation;
+import net.minecraft.client.renderer.entity.RenderManager;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraftforge.client.event.RenderWorldLastEvent;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import org.lwjgl.opengl.GL11;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Rejects world highlights that are outside the camera frustum or further away than
+ * {@link ModConfig#highlightRenderDistance} before any GL work is done for them. The frustum is
+ * captured once per frame at the start of {@link RenderWorldLastEvent}; the plane math itself
+ * only works on plain float arrays.
+ */
+public class WorldCuller {
+    private static final FloatBuffer matrixBuffer = GLAllocation.createDirectFloatBuffer(16);
+    private static final float[] projection = new float[16];
+    private static final float[] modelview = new float[16];
+    private static final float[] clip = new float[16];
+
+    // a, b, c, d for the left, right, bottom, top, near and far planes, in camera relative space
+    private static final float[] planes = new float[24];
+    private static boolean hasFrustum = false;
+    private static double cameraX, cameraY, cameraZ;
+
+    private static long culled, drawn;
+    private static long lastCulled, lastDrawn;
+
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onRenderWorld(RenderWorldLastEvent e) {
+        lastCulled = culled;
+        lastDrawn = drawn;
+        culled = drawn = 0;
+
+        readMatrix(GL11.GL_PROJECTION_MATRIX, projection);
+        readMatrix(GL11.GL_MODELVIEW_MATRIX, modelview);
+        RenderManager renderManager = Minecraft.getMinecraft().getRenderManager();
+        update(projection, modelview, renderManager.viewerPosX, renderManager.viewerPosY, renderManager.viewerPosZ);
+    }
+
+    private static void readMatrix(int matrix, float[] out) {
+        matrixBuffer.clear();
+        GL11.glGetFloat(matrix, matrixBuffer);
+        matrixBuffer.get(out);
+    }
+
+    /** Rebuilds the frustum from column-major projection and modelview matrices. */
+    public static void update(float[] projection, float[] modelview, double x, double y, double z) {
+        cameraX = x;
+        cameraY = y;
+        cameraZ = z;
+
+        for (int c = 0; c < 4; c++) {
+            for (int r = 0; r < 4; r++) {
+                float sum = 0;
+                for (int k = 0; k < 4; k++) sum += projection[k * 4 + r] * modelview[c * 4 + k];
+                clip[c * 4 + r] = sum;
+            }
+        }
+
+        for (int i = 0; i < 6; i++) {
+            int row = i / 2;
+            float sign = i % 2 == 0 ? 1 : -1;
+            float a = clip[3] + sign * clip[row];
+            float b = clip[7] + sign * clip[4 + row];
+            float c = clip[11] + sign * clip[8 + row];
+            float d = clip[15] + sign * clip[12 + row];
+            float length = (float) Math.sqrt(a * a + b * b + c * c);
+            if (length == 0) length = 1;
+
+            planes[i * 4] = a / length;
+            planes[i * 4 + 1] = b / length;
+            planes[i * 4 + 2] = c / length;
+            planes[i * 4 + 3] = d / length;
+        }
+        hasFrustum = true;
+    }
+
+    public static boolean isVisible(AxisAlignedBB aabb) {
+        return isVisible(aabb.minX, aabb.minY, aabb.minZ, aabb.maxX, aabb.maxY, aabb.maxZ);
+    }
+
+    /** Tests a box in world coordinates and counts the result. */
+    public static boolean isVisible(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        boolean visible = test(minX - cameraX, minY - cameraY, minZ - cameraZ, maxX - cameraX, maxY - cameraY, maxZ - cameraZ, ModConfig.highlightRenderDistance);
+        if (visible) drawn++; else culled++;
+        return visible;
+    }
+
+    /** Tests a box relative to the camera, a max distance of 0 or less disables the distance check. */
+    static boolean test(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, double maxDistance) {
+        if (maxDistance > 0) {
+            double dx = Math.max(0, Math.max(minX, -maxX));
+            double dy = Math.max(0, Math.max(minY, -maxY));
+            double dz = Math.max(0, Math.max(minZ, -maxZ));
+            if (dx * dx + dy * dy + dz * dz > maxDistance * maxDistance) return false;
+        }
+        if (!hasFrustum) return true;
+
+        for (int i = 0; i < 24; i += 4) {
+            float a = planes[i], b = planes[i + 1], c = planes[i + 2];
+            double px = a > 0 ? maxX : minX;
+            double py = b > 0 ? maxY : minY;
+            double pz = c > 0 ? maxZ : minZ;
+            if (a * px + b * py + c * pz + planes[i + 3] < 0) return false;
+        }
+        return true;
+    }
+
+    public static long getCulled() {
+        return lastCulled;
+    }
+
+    public static long getDrawn() {
+        return lastDrawn;
+    }
+
+    public static String format() {
+        return "§bWorldCuller §7last frame§r#§f" + lastDrawn + " §8drawn §7" + lastCulled + " §8culled";
+    }
+}
@@ -11,14 +11,12 @@ import cc.polyfrost.oneconfig.utils.hypixel.LocrawUtil;
 import com.github.spookie6.frozen.events.impl.PacketEvent;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ServerData;
-import net.minecraft.network.play.server.S38PacketPlayerListItem;
 import net.minecraft.network.play.server.S3BPacketScoreboardObjective;
 import net.minecraft.network.play.server.S3FPacketCustomPayload;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.network.FMLNetworkEvent;
-import org.apache.commons.lang3.StringUtils;
 import com.github.spookie6.frozen.events.impl.TablistUpdateEvent;
 import com.github.spookie6.frozen.utils.skyblock.dungeon.Dungeon;
 import com.github.spookie6.frozen.utils.skyblock.dungeon.DungeonUtils;
@@ -66,13 +64,9 @@ public class LocationUtils {
     @SubscribeEvent(priority = EventPriority.HIGH)
     public void onTablistUpdate(TablistUpdateEvent e) {
         if (LocationUtils.currentArea.isArea(Island.SingePlayer)) return;
-        if (!currentArea.isArea(Island.Unknown) || (!e.packet.getAction().equals(S38PacketPlayerListItem.Action.UPDATE_DISPLAY_NAME) && !e.packet.getAction().equals(S38PacketPlayerListItem.Action.ADD_PLAYER))) return;
-        S38PacketPlayerListItem.AddPlayerData area = e.packet.getEntries().stream()
-                .filter(x -> StringUtils.startsWithAny(x.getDisplayName() == null ? "" : x.getDisplayName().getUnformattedText(), "Area: ", "Dungeon: "))
-                .findFirst()
-                .orElse(null);
+        if (!currentArea.isArea(Island.Unknown) || !TablistModel.isAreaUpdated()) return;
 
-        currentArea = area == null ? Island.Unknown : Island.findMatch(area.getDisplayName().getUnformattedText());
+        currentArea = Island.findMatch(TablistModel.getAreaLine());
         if (DungeonUtils.getInDungeon() && currentDungeon == null) {
             currentDungeon = new Dungeon();
         }
@@ -0,0 +1,136 @@
+package com.github.spookie6.frozen.utils.skyblock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Party members keyed by username in an open-addressing table, with their rank and role flags
+ * in parallel arrays. Removal shifts the following entries back, so lookups never need tombstones.
+ */
+class PartyRoster {
+    static final byte LEADER = 1;
+    static final byte MODERATOR = 2;
+
+    private String[] names = new String[16];
+    private String[] ranks = new String[16];
+    private byte[] flags = new byte[16];
+    private int size = 0;
+
+    private int indexOf(String name) {
+        int mask = names.length - 1;
+        int i = name.hashCode() * 0x9E3779B9 >>> 1 & mask;
+        while (names[i] != null) {
+            if (names[i].equals(name)) return i;
+            i = (i + 1) & mask;
+        }
+        return -1 - i;
+    }
+
+    void put(String name, String rank) {
+        int i = indexOf(name);
+        if (i >= 0) {
+            if (!rank.isEmpty()) ranks[i] = rank;
+            return;
+        }
+        if ((size + 1) * 2 > names.length) {
+            grow();
+            i = indexOf(name);
+        }
+        i = -1 - i;
+        names[i] = name;
+        ranks[i] = rank;
+        flags[i] = 0;
+        size++;
+    }
+
+    boolean remove(String name) {
+        int i = indexOf(name);
+        if (i < 0) return false;
+
+        int mask = names.length - 1;
+        int hole = i;
+        for (int j = (i + 1) & mask; names[j] != null; j = (j + 1) & mask) {
+            int home = names[j].hashCode() * 0x9E3779B9 >>> 1 & mask;
+            // Move j into the hole unless its home slot lies cyclically in (hole, j]
+            if (hole <= j ? hole < home && home <= j : hole < home || home <= j) continue;
+            names[hole] = names[j];
+            ranks[hole] = ranks[j];
+            flags[hole] = flags[j];
+            hole = j;
+        }
+        names[hole] = null;
+        ranks[hole] = null;
+        flags[hole] = 0;
+        size--;
+        return true;
+    }
+
+    private void grow() {
+        String[] oldNames = names;
+        String[] oldRanks = ranks;
+        byte[] oldFlags = flags;
+        names = new String[oldNames.length * 2];
+        ranks = new String[oldNames.length * 2];
+        flags = new byte[oldNames.length * 2];
+
+        for (int j = 0; j < oldNames.length; j++) {
+            if (oldNames[j] == null) continue;
+            int i = -1 - indexOf(oldNames[j]);
+            names[i] = oldNames[j];
+            ranks[i] = oldRanks[j];
+            flags[i] = oldFlags[j];
+        }
+    }
+
+    boolean contains(String name) {
+        return indexOf(name) >= 0;
+    }
+
+    String getRank(String name) {
+        int i = indexOf(name);
+        return i < 0 ? null : ranks[i];
+    }
+
+    boolean hasFlag(String name, byte flag) {
+        int i = indexOf(name);
+        return i >= 0 && (flags[i] & flag) != 0;
+    }
+
+    void setFlag(String name, byte flag, boolean value) {
+        int i = indexOf(name);
+        if (i < 0) return;
+        flags[i] = (byte) (value ? flags[i] | flag : flags[i] & ~flag);
+    }
+
+    /** Clears the flag from every member, used when the party leader changes. */
+    void clearFlag(byte flag) {
+        for (int i = 0; i < flags.length; i++) flags[i] &= ~flag;
+    }
+
+    String findFlag(byte flag) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] != null && (flags[i] & flag) != 0) return names[i];
+        }
+        return null;
+    }
+
+    List<String> getNames() {
+        List<String> list = new ArrayList<>(size);
+        for (String name : names) {
+            if (name != null) list.add(name);
+        }
+        return list;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(names, null);
+        Arrays.fill(ranks, null);
+        Arrays.fill(flags, (byte) 0);
+        size = 0;
+    }
+}
@@ -1,20 +1,26 @@
 package com.github.spookie6.frozen.utils.skyblock;
 
-import com.github.spookie6.frozen.events.impl.ChatPacketEvent;
+import com.github.spookie6.frozen.events.ChatRules;
 import net.minecraft.client.Minecraft;
 
 import cc.polyfrost.oneconfig.events.event.ChatReceiveEvent;
 import cc.polyfrost.oneconfig.libs.eventbus.Subscribe;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
-import java.util.HashMap;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 // Credit -> https://chattriggers.com/modules/v/BloomCore (Ty for the regex lines pookie <3)
 public class PartyUtils {
-    private static HashMap<String, String> members = new HashMap<>(); // {"DhrRico": "[MVP+]"};
-    private static byte size = 0;
-    private static String leader = null;
+    private static final PartyRoster members = new PartyRoster();
     private static boolean inParty = false;
+    // Resolved on use so transcripts can be replayed without a running client
+    static Supplier<String> localPlayer = () -> Minecraft.getMinecraft().thePlayer == null ? null : Minecraft.getMinecraft().thePlayer.getName();
+
+    // Optional "[RANK] " followed by the username, always as groups 1 and 2
+    private final static String NAME = "(?:(\\[[^\\]]+]) )?(\\w{3,16})";
+    private final static Pattern listEntry = Pattern.compile(NAME + " ●");
 
     private final static String[] disbandRegexes = {
             "^.+ has disbanded the party!$",
@@ -26,86 +32,51 @@ public class PartyUtils {
             "^Party Members \\(\\d+\\)$"
     };
 
-    @SubscribeEvent
-    public void onChatReceive(ChatPacketEvent event) {
-        String originalMsg = event.message;
-        String msg = event.message;
-
-        for (String regex : disbandRegexes) if (msg.matches(regex)) disband();
-
-        if (msg.matches("^((\\[(.)+])?) *(\\w{3,16}) joined the party\\.$") || msg.matches("Party > ((\\[(.)+])?) *(\\w{3,16}): .+$") || msg.matches("You have joined ((\\[(.)+])?) *(\\w{3,16})'s party!")) {
-            if (msg.startsWith("Party > ")) msg = msg.replace("Party > ", "");
-            if (msg.startsWith("You have joined")) {
-                msg = msg.replace("You have joined ", "");
-                msg = msg.replaceAll("'s", "");
-            }
-            String username = msg.split(" ")[msg.startsWith("[") ? 1 : 0];
-            String rank = msg.startsWith("[") ? msg.split(" ")[0] : "";
-            addMember(username, rank);
-
-            if (originalMsg.startsWith("You have joined")) leader = username;
-        }
-        if (msg.matches("^((\\[(.)+])?) *(\\w{3,16}) (has left the party\\.$|has been removed from the party\\.$)")) {
-            String username = msg.split(" ")[msg.startsWith("[") ? 1 : 0];
-            removeMember(username);
-        }
-        if (msg.matches("^Party (Leader|Moderators|Members): (.+)$")) {
-            msg = msg.replace("Party Leader: ", "");
-            msg = msg.replace("Party Moderators: ", "");
-            msg = msg.replace("Party Members: ", "");
-            String[] segments = msg.split(" ● ");
-            for (String segment : segments) {
-                String username = segment.split(" ")[segment.startsWith("[") ? 1 : 0];
-                String rank = segment.startsWith("[") ? segment.split(" ")[0] : "";
-
-                if (originalMsg.startsWith("Party Leader: ")) leader = username;
-                addMember(username, rank);
+    public PartyUtils() {
+        for (String regex : disbandRegexes) ChatRules.register(regex, m -> disband());
+
+        ChatRules.register("^" + NAME + " joined the party\\.$", m -> addMember(m.group(2), rank(m, 1)));
+        ChatRules.register("^Party > " + NAME + ": .+$", m -> addMember(m.group(2), rank(m, 1)));
+        ChatRules.register("^You have joined " + NAME + "'s party!$", m -> {
+            addMember(m.group(2), rank(m, 1));
+            setLeader(m.group(2));
+        });
+
+        ChatRules.register("^" + NAME + " (?:has left|has been removed from) the party\\.$", m -> removeMember(m.group(2)));
+        ChatRules.register("^Party (Leader|Moderators|Members): (.+)$", m -> {
+            String role = m.group(1);
+            Matcher entry = listEntry.matcher(m.group(2));
+            while (entry.find()) {
+                String username = entry.group(2);
+                addMember(username, rank(entry, 1));
+                if (role.equals("Leader")) setLeader(username);
+                else if (role.equals("Moderators")) members.setFlag(username, PartyRoster.MODERATOR, true);
             }
-        }
+        });
 
 //        [MVP+] DhrRico invited [MVP+] DhrEric to the party! They have 60 seconds to accept.
 
-        if (msg.matches("^The party leader, ((\\[(.)+])?) *(\\w{3,16}) has disconnected, they have 5 minutes to rejoin before the party is disbanded\\.$")) {
-            msg = msg.replace("The party leader, ", "");
-            String username = msg.split(" ")[msg.startsWith("[") ? 1 : 0];
-            String rank = msg.startsWith("[") ? msg.split(" ")[0] : "";
-            leader = username;
-            addMember(username, rank);
-        }
-        if (msg.matches("^((\\[(.)+])?) *(\\w{3,16}) has disconnected, they have 5 minutes to rejoin before they are removed from the party\\.$")) {
-            msg = msg.replace("The party leader, ", "");
-            String username = msg.split(" ")[msg.startsWith("[") ? 1 : 0];
-            String rank = msg.startsWith("[") ? msg.split(" ")[0] : "";
-            addMember(username, rank);
-        }
-        if (msg.matches("^The party was transferred to ((\\[(.)+])?) *(\\w{3,16}) by ((\\[(.)+])?) *(\\w{3,16})$")) {
-            msg = msg.replace("The party was transferred to ", "");
-
-            String[] segments = msg.split(" by ");
-
-            String username = segments[0].split(" ")[segments[0].startsWith("[") ? 1 : 0];
-            String rank = segments[0].startsWith("[") ? segments[0].split(" ")[0] : "";
-            String username1 = segments[1].split(" ")[segments[1].startsWith("[") ? 1 : 0];
-            String rank1 = segments[1].startsWith("[") ? segments[1].split(" ")[0] : "";
-
-            leader = username;
-            addMember(username, rank);
-            addMember(username1, rank1);
-        }
-        if (msg.matches("^The party was transferred to ((\\[(.)+])?) *(\\w{3,16}) because ((\\[(.)+])?) *(\\w{3,16}) left$")) {
-            msg = msg.replace("The party was transferred to ", "");
-            removeMember(leader);
-            String username = msg.split(" ")[msg.startsWith("[") ? 1 : 0];
-            String rank = msg.startsWith("[") ? msg.split(" ")[0] : "";
-            addMember(username, rank);
-        }
-        if (msg.matches("Party Finder > (\\w{3,16}) joined the dungeon group! \\((\\W+) Level (\\d+)\\)$")) {
-            msg = msg.replace("Party Finder > ", "");
-            String username = msg.split(" ")[0];
-            addMember(username, "");
-        }
+        ChatRules.register("^The party leader, " + NAME + " has disconnected, they have 5 minutes to rejoin before the party is disbanded\\.$", m -> {
+            addMember(m.group(2), rank(m, 1));
+            setLeader(m.group(2));
+        });
+        ChatRules.register("^" + NAME + " has disconnected, they have 5 minutes to rejoin before they are removed from the party\\.$", m -> addMember(m.group(2), rank(m, 1)));
+        ChatRules.register("^The party was transferred to " + NAME + " by " + NAME + "$", m -> {
+            addMember(m.group(2), rank(m, 1));
+            addMember(m.group(4), rank(m, 3));
+            setLeader(m.group(2));
+        });
+        ChatRules.register("^The party was transferred to " + NAME + " because " + NAME + " left$", m -> {
+            removeMember(m.group(4));
+            addMember(m.group(2), rank(m, 1));
+            setLeader(m.group(2));
+        });
+        ChatRules.register("^Party Finder > (\\w{3,16}) joined the dungeon group! \\((\\w+) Level (\\d+)\\)$", m -> addMember(m.group(1), ""));
+    }
 
-        inParty = size >0;
+    private static String rank(Matcher m, int group) {
+        String rank = m.group(group);
+        return rank == null ? "" : rank;
     }
 
 //    DEBUG OVERLAY
@@ -118,29 +89,52 @@ public class PartyUtils {
 //    }
 
     public static void addMember(String user, String rank) {
+        if (!inParty) {
+            inParty = true;
+            String self = localPlayer.get();
+            if (self != null) members.put(self, "");
+        }
         members.put(user, rank);
-
-        if (!user.equals(Minecraft.getMinecraft().thePlayer.getName()))
-            addMember(Minecraft.getMinecraft().thePlayer.getName(), "");
-
-        size = (byte) members.size();
     }
 
     public static void removeMember(String user) {
-        if (members.get(user) == null) return;
-        members.remove(user);
-        size = (byte) members.size();
+        if (!members.remove(user)) return;
+        inParty = members.size() > 0;
+    }
+
+    private static void setLeader(String user) {
+        members.clearFlag(PartyRoster.LEADER);
+        members.setFlag(user, PartyRoster.LEADER, true);
+        members.setFlag(user, PartyRoster.MODERATOR, false);
     }
 
     public static void disband() {
         members.clear();
-        size = 0;
-        leader = null;
         inParty = false;
     }
 
-    public static HashMap<String, String> getMembers() {
-        return members;
+    public static List<String> getMembers() {
+        return members.getNames();
+    }
+
+    public static String getRank(String username) {
+        return members.getRank(username);
+    }
+
+    public static String getLeader() {
+        return members.findFlag(PartyRoster.LEADER);
+    }
+
+    public static boolean isLeader(String username) {
+        return members.hasFlag(username, PartyRoster.LEADER);
+    }
+
+    public static boolean isModerator(String username) {
+        return members.hasFlag(username, PartyRoster.MODERATOR);
+    }
+
+    public static int getSize() {
+        return members.size();
     }
 
     public static boolean inParty() {
@@ -148,6 +142,6 @@ public class PartyUtils {
     }
 
     public static boolean memberInParty (String username) {
-        return members.get(username) != null;
+        return members.contains(username);
     }
 }
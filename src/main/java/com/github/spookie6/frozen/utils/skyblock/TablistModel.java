@@ -0,0 +1,137 @@
+package com.github.spookie6.frozen.utils.skyblock;
+
+import com.github.spookie6.frozen.events.impl.TablistUpdateEvent;
+import com.github.spookie6.frozen.utils.StringUtils;
+import net.minecraft.network.play.server.S38PacketPlayerListItem;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The tablist as a map of rows keyed by profile UUID. Player list packets are applied as deltas
+ * at the highest priority, and only rows whose text changed are parsed again, so later
+ * {@link TablistUpdateEvent} handlers can read the typed views instead of the raw packet.
+ */
+public class TablistModel {
+    public static final Pattern playerPattern = Pattern.compile("^\\[(\\d+)] (?:\\[\\w+] )*(\\w+) .*?\\((\\w+)(?: (\\w+))*\\)$");
+
+    private static final Map<UUID, Row> rows = new HashMap<>();
+    private static final Map<UUID, PlayerRow> playerRows = new LinkedHashMap<>();
+    private static final Collection<PlayerRow> playerRowsView = Collections.unmodifiableCollection(playerRows.values());
+    private static Row areaRow = null;
+
+    private static boolean areaUpdated = false;
+    private static boolean playersChanged = false;
+
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public void onTablistUpdate(TablistUpdateEvent e) {
+        apply(e.packet);
+    }
+
+    @SubscribeEvent
+    public void onDisconnect(FMLNetworkEvent.ClientDisconnectionFromServerEvent e) {
+        clear();
+    }
+
+    public static void apply(S38PacketPlayerListItem packet) {
+        areaUpdated = false;
+        playersChanged = false;
+
+        S38PacketPlayerListItem.Action action = packet.getAction();
+        if (action == S38PacketPlayerListItem.Action.REMOVE_PLAYER) {
+            for (S38PacketPlayerListItem.AddPlayerData entry : packet.getEntries()) {
+                UUID id = entry.getProfile().getId();
+                Row row = rows.remove(id);
+                if (row == null) continue;
+                if (row == areaRow) areaRow = null;
+                if (playerRows.remove(id) != null) playersChanged = true;
+            }
+            return;
+        }
+        if (action != S38PacketPlayerListItem.Action.ADD_PLAYER && action != S38PacketPlayerListItem.Action.UPDATE_DISPLAY_NAME) return;
+
+        for (S38PacketPlayerListItem.AddPlayerData entry : packet.getEntries()) {
+            UUID id = entry.getProfile().getId();
+            String text = entry.getDisplayName() == null ? "" : entry.getDisplayName().getUnformattedText();
+
+            Row row = rows.get(id);
+            if (row == null) rows.put(id, row = new Row(id));
+            else if (row.text.equals(text)) {
+                if (row == areaRow) areaUpdated = true;
+                continue;
+            }
+            row.text = text;
+            parse(row);
+        }
+    }
+
+    private static void parse(Row row) {
+        if (row.text.startsWith("Area: ") || row.text.startsWith("Dungeon: ")) {
+            areaRow = row;
+            areaUpdated = true;
+        } else if (row == areaRow) {
+            areaRow = null;
+        }
+
+        Matcher m = playerPattern.matcher(row.text);
+        if (m.find()) {
+            playerRows.put(row.id, new PlayerRow(m.group(2), m.group(3), m.group(4)));
+            playersChanged = true;
+        } else if (playerRows.remove(row.id) != null) {
+            playersChanged = true;
+        }
+    }
+
+    public static void clear() {
+        rows.clear();
+        playerRows.clear();
+        areaRow = null;
+    }
+
+    /** The "Area: " or "Dungeon: " line, or null when the tablist doesn't have one. */
+    public static String getAreaLine() {
+        return areaRow == null ? null : areaRow.text;
+    }
+
+    /** Whether the last applied packet contained the area line. */
+    public static boolean isAreaUpdated() {
+        return areaUpdated && areaRow != null;
+    }
+
+    /** Whether the last applied packet added, changed or removed a dungeon player line. */
+    public static boolean havePlayersChanged() {
+        return playersChanged;
+    }
+
+    public static Collection<PlayerRow> getPlayerRows() {
+        return playerRowsView;
+    }
+
+    private static class Row {
+        final UUID id;
+        String text = "";
+
+        Row(UUID id) {
+            this.id = id;
+        }
+    }
+
+    public static class PlayerRow {
+        public final String username;
+        // The class name, or DEAD/EMPTY when the player is dead or has no class
+        public final String className;
+        public final String numeral;
+        public final int level;
+
+        PlayerRow(String username, String className, String numeral) {
+            this.username = username;
+            this.className = className;
+            this.numeral = numeral;
+            this.level = numeral == null ? 0 : StringUtils.romanToDecimal(numeral);
+        }
+    }
+}
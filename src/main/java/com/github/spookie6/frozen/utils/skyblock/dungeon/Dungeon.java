@@ -2,12 +2,13 @@ package com.github.spookie6.frozen.utils.skyblock.dungeon;
 
 import com.github.spookie6.frozen.config.ModConfig;
 import com.github.spookie6.frozen.events.impl.PacketEvent;
+import com.github.spookie6.frozen.events.impl.TablistUpdateEvent;
 import com.github.spookie6.frozen.utils.ChatUtils;
+import com.github.spookie6.frozen.utils.skyblock.TablistModel;
 import com.mojang.realmsclient.gui.ChatFormatting;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.network.play.server.S38PacketPlayerListItem;
 import net.minecraft.network.play.server.S3EPacketTeams;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 
@@ -15,7 +16,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class Dungeon {
     public boolean inBoss = false;
@@ -46,26 +46,27 @@ public class Dungeon {
             if (ModConfig.debugMessages) ChatUtils.sendModInfo("Joined floor: " + this.floor.toString());
             SplitsManager.initialize(this.floor);
         }
-        if (e.getPacket() instanceof S38PacketPlayerListItem) {
-            S38PacketPlayerListItem packet = (S38PacketPlayerListItem) e.getPacket();
-            if (!packet.getAction().equals(S38PacketPlayerListItem.Action.ADD_PLAYER) && !packet.getAction().equals(S38PacketPlayerListItem.Action.UPDATE_DISPLAY_NAME)) return;
-            List<String> tablistEntries = packet.getEntries().stream().map(x -> x.getDisplayName() == null ? "" : x.getDisplayName().getUnformattedText()).collect(Collectors.toList());
-            this.updatePlayers(tablistEntries);
-        }
     }
 
-    public void updatePlayers(List<String> tablist) {
-        dungeonPlayers = DungeonUtils.getDungeonPlayers(dungeonPlayers, tablist);
+    public void onTablistUpdate(TablistUpdateEvent e) {
+        // Rows skipped because their player entity wasn't loaded yet are retried until they resolve
+        if (TablistModel.havePlayersChanged() || hasUnresolvedRows()) DungeonUtils.updateDungeonPlayers(dungeonPlayers, TablistModel.getPlayerRows());
     }
 
     public void onEntityJoin(EntityJoinWorldEvent e) {
-        DungeonEnums.DungeonPlayer teammate = this.dungeonPlayers.stream()
-                .filter(x -> x.entity.getName().equals(x.entity.getName()))
-                .findFirst()
-                .orElse(null);
+        if (!(e.entity instanceof EntityPlayer)) return;
+        EntityPlayer entity = (EntityPlayer) e.entity;
+
+        for (DungeonEnums.DungeonPlayer teammate : dungeonPlayers) {
+            if (!teammate.username.equals(entity.getDisplayNameString())) continue;
+            teammate.entity = entity;
+            return;
+        }
+        if (hasUnresolvedRows()) DungeonUtils.updateDungeonPlayers(dungeonPlayers, TablistModel.getPlayerRows());
+    }
 
-        if (teammate == null) return;
-        if (e.entity instanceof EntityPlayer) teammate.entity = (EntityPlayer) e.entity;
+    private boolean hasUnresolvedRows() {
+        return dungeonPlayers.size() < TablistModel.getPlayerRows().size();
     }
 }
 
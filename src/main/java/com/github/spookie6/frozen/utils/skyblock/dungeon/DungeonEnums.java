@@ -107,7 +107,7 @@ public class DungeonEnums {
         }
 
         public static Floor getFloor(String match) {
-            return Arrays.stream(Floor.values()).filter(x -> x.toString().equals(match)).findFirst().orElse(Floor.None);
+            return Arrays.stream(Floor.values()).filter(x -> match != null && match.equals(x.identifier)).findFirst().orElse(Floor.None);
         }
 
         public boolean isFloor(int n) {
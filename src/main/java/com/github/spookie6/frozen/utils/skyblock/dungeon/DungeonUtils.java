@@ -4,20 +4,21 @@ import cc.polyfrost.oneconfig.events.event.ReceivePacketEvent;
 import cc.polyfrost.oneconfig.libs.eventbus.Subscribe;
 
 import com.github.spookie6.frozen.events.impl.PacketEvent;
+import com.github.spookie6.frozen.events.impl.TablistUpdateEvent;
 import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
-import com.github.spookie6.frozen.utils.StringUtils;
+import com.github.spookie6.frozen.utils.EntityIndex;
 import com.github.spookie6.frozen.utils.skyblock.Island;
 import com.github.spookie6.frozen.utils.skyblock.LocationUtils;
+import com.github.spookie6.frozen.utils.skyblock.TablistModel;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 public class DungeonUtils {
@@ -59,34 +60,26 @@ public class DungeonUtils {
         return Math.round(baseCooldown * getMageCooldownMultiplier());
     }
 
-    public static Pattern playerPattern = Pattern.compile("^\\[(\\d+)] (?:\\[\\w+] )*(\\w+) .*?\\((\\w+)(?: (\\w+))*\\)$");
-    public static List<DungeonEnums.DungeonPlayer> getDungeonPlayers(List<DungeonEnums.DungeonPlayer> previousPlayers, List<String> tablist) {
-        for (String line : tablist) {
-            Matcher m = playerPattern.matcher(line);
-            if (!m.find()) continue;
-
-            List<String> groups = new ArrayList<>();
-            for (int i = 0; i < m.groupCount() + 1; i++) {groups.add(m.group(i));}
+    public static void updateDungeonPlayers(List<DungeonEnums.DungeonPlayer> players, Collection<TablistModel.PlayerRow> rows) {
+        for (TablistModel.PlayerRow row : rows) {
+            DungeonEnums.DungeonPlayer player = null;
+            for (DungeonEnums.DungeonPlayer p : players) {
+                if (!p.username.equals(row.username)) continue;
+                player = p;
+                break;
+            }
 
-            DungeonEnums.DungeonPlayer player = previousPlayers.stream().filter(x -> x.username.equals(groups.get(2))).findFirst().orElse(null);
             if (player == null) {
-                String username = groups.get(2);
-                String clazz = groups.get(3);
-                String clazzlvl = groups.get(4);
-
-                if (Minecraft.getMinecraft().theWorld == null) continue;
-                EntityPlayer playerEntity = Minecraft.getMinecraft().theWorld.playerEntities.stream().filter(x -> x.getDisplayNameString().equals(username)).findFirst().orElse(null);
+                EntityPlayer playerEntity = EntityIndex.getPlayer(row.username);
                 if (playerEntity == null) continue;
-                DungeonEnums.Class playerClazz = DungeonEnums.Class.getClass(clazz);
+                DungeonEnums.Class playerClazz = DungeonEnums.Class.getClass(row.className);
                 if (playerClazz.isClass(DungeonEnums.Class.Unknown)) continue;
 
-                DungeonEnums.DungeonPlayer dungeonPlayer = new DungeonEnums.DungeonPlayer(username, playerClazz, StringUtils.romanToDecimal(clazzlvl), playerEntity);
-                previousPlayers.add(dungeonPlayer);
+                players.add(new DungeonEnums.DungeonPlayer(row.username, playerClazz, row.level, playerEntity));
             } else {
-                player.isDead = groups.get(3).equals("DEAD");
+                player.isDead = row.className.equals("DEAD");
             }
         }
-        return previousPlayers;
     }
 
     @SubscribeEvent
@@ -94,6 +87,11 @@ public class DungeonUtils {
         if (LocationUtils.currentDungeon != null) LocationUtils.currentDungeon.onPacket(e);
     }
 
+    @SubscribeEvent
+    public void onTablistUpdate(TablistUpdateEvent e) {
+        if (LocationUtils.currentDungeon != null) LocationUtils.currentDungeon.onTablistUpdate(e);
+    }
+
     @SubscribeEvent
     public void onEntityJoin(EntityJoinWorldEvent e) {
         if (LocationUtils.currentDungeon != null) LocationUtils.currentDungeon.onEntityJoin(e);
@@ -0,0 +1,247 @@
+package com.github.spookie6.frozen.utils.skyblock.dungeon;
+
+import com.github.spookie6.frozen.utils.skyblock.dungeon.SplitsManager.Split;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.spookie6.frozen.Frozen.mc;
+
+/**
+ * Append-only log of every finished run, one fixed-width record per run, read back in a single
+ * channel read on startup. Runs are indexed per floor with the split times in flat arrays
+ * plus a sorted copy per split, so personal bests and medians are a single array read.
+ * <p>
+ * Record layout: floor ordinal, reserved, finish time, then millis and ticks for every split
+ * (-1 when the run didn't have it). Loading and appending happen on a background thread, the
+ * sorted copies of a floor are only built once it's first queried.
+ */
+public class RunHistory {
+    private static final int MAGIC = 0x46525A52; // FRZR
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int SPLITS = Split.Unknown.ordinal();
+    static final int RECORD_SIZE = 16 + SPLITS * 8;
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Frozen run history");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final FloorRuns[] floors = new FloorRuns[DungeonEnums.Floor.values().length];
+    private static File file;
+    // Only touched on the executor, where the next record is written
+    private static long writePosition = -1;
+
+    static {
+        for (int i = 0; i < floors.length; i++) floors[i] = new FloorRuns();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                executor.submit(() -> {}).get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }, "Frozen run history shutdown"));
+    }
+
+    public static void load() {
+        load(new File(mc.mcDataDir, "config/frozen/runs.bin"));
+    }
+
+    /** Switches to the log at {@code file}, dropping the runs of the previous one. */
+    static synchronized void load(File file) {
+        RunHistory.file = file;
+        for (int i = 0; i < floors.length; i++) floors[i] = new FloorRuns();
+        executor.execute(RunHistory::read);
+    }
+
+    /** Runs the task on the history thread, after any pending load or append. */
+    static void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    private static synchronized void read() {
+        writePosition = HEADER_SIZE;
+        if (!file.exists()) return;
+
+        try {
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                // Read into the heap rather than mapping, a mapped file can't be moved or truncated on Windows
+                buffer = ByteBuffer.allocate((int) channel.size());
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) break;
+                }
+                buffer.flip();
+            }
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getInt() != RECORD_SIZE) {
+                throw new IOException("Unknown run history format");
+            }
+            buffer.getInt();
+
+            // A record cut off by a crash is dropped, and overwritten by the next append
+            int records = buffer.remaining() / RECORD_SIZE;
+            int[] data = new int[records * RECORD_SIZE / 4];
+            buffer.asIntBuffer().get(data);
+
+            int[] millis = new int[SPLITS];
+            int[] ticks = new int[SPLITS];
+            for (FloorRuns runs : floors) runs.isSorted = false;
+            for (int o = 0; o < data.length; o += RECORD_SIZE / 4) {
+                int floor = data[o];
+                long finished = (long) data[o + 2] << 32 | data[o + 3] & 0xFFFFFFFFL;
+                for (int i = 0, j = o + 4; i < SPLITS; i++, j += 2) {
+                    millis[i] = data[j];
+                    ticks[i] = data[j + 1];
+                }
+                if (floor >= 0 && floor < floors.length) floors[floor].add(finished, millis, ticks);
+            }
+            writePosition = HEADER_SIZE + (long) records * RECORD_SIZE;
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            for (int i = 0; i < floors.length; i++) floors[i] = new FloorRuns();
+            try {
+                Files.move(file.toPath(), file.toPath().resolveSibling(file.getName() + ".bak"), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                ex.printStackTrace();
+                // Still there, so the next append has to start the file over with a valid header
+                writePosition = -1;
+            }
+        }
+    }
+
+    /**
+     * Adds a finished run to the index right away and appends it to the log in the background.
+     * {@code times} holds the millis and ticks of every split by ordinal, or null when the run
+     * didn't have that split.
+     */
+    public static synchronized void append(DungeonEnums.Floor floor, long[][] times) {
+        int[] millis = new int[SPLITS];
+        int[] ticks = new int[SPLITS];
+        for (int i = 0; i < SPLITS; i++) {
+            millis[i] = times[i] == null ? -1 : (int) times[i][0];
+            ticks[i] = times[i] == null ? -1 : (int) times[i][1];
+        }
+        long finished = System.currentTimeMillis();
+        floors[floor.ordinal()].add(finished, millis, ticks);
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putInt(floor.ordinal()).putInt(0).putLong(finished);
+        for (int i = 0; i < SPLITS; i++) record.putInt(millis[i]).putInt(ticks[i]);
+        record.flip();
+        executor.execute(() -> write(record));
+    }
+
+    private static void write(ByteBuffer record) {
+        try {
+            Files.createDirectories(file.toPath().getParent());
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                if (writePosition < 0 || channel.size() < HEADER_SIZE) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                    header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0).flip();
+                    channel.truncate(0);
+                    channel.write(header, 0);
+                    writePosition = HEADER_SIZE;
+                }
+                channel.truncate(writePosition);
+                while (record.hasRemaining()) writePosition += channel.write(record, writePosition);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /** Best time of the split on this floor in millis, or -1 without any runs. */
+    public static synchronized int getBest(DungeonEnums.Floor floor, Split split) {
+        if (split.ordinal() >= SPLITS) return -1;
+        FloorRuns runs = floors[floor.ordinal()].sorted();
+        return runs.sortedCount[split.ordinal()] == 0 ? -1 : runs.sorted[split.ordinal()][0];
+    }
+
+    public static synchronized int getMedian(DungeonEnums.Floor floor, Split split) {
+        if (split.ordinal() >= SPLITS) return -1;
+        FloorRuns runs = floors[floor.ordinal()].sorted();
+        int count = runs.sortedCount[split.ordinal()];
+        return count == 0 ? -1 : runs.sorted[split.ordinal()][count / 2];
+    }
+
+    public static synchronized int getRunCount(DungeonEnums.Floor floor) {
+        return floors[floor.ordinal()].count;
+    }
+
+    /**
+     * Copies the millis of every split from the last {@code limit} runs on the floor, indexed by
+     * split and oldest first. Runs that didn't reach a split are left out of its array, so the
+     * arrays can be shorter than the window.
+     */
+    public static synchronized int[][] getRecentMillis(DungeonEnums.Floor floor, int limit) {
+        FloorRuns runs = floors[floor.ordinal()];
+        int first = runs.count - Math.min(limit, runs.count);
+        int[][] values = new int[SPLITS][];
+        for (int split = 0; split < SPLITS; split++) {
+            int[] splitValues = new int[runs.count - first];
+            int n = 0;
+            for (int run = first; run < runs.count; run++) {
+                int value = runs.millis[run * SPLITS + split];
+                if (value >= 0) splitValues[n++] = value;
+            }
+            values[split] = n == splitValues.length ? splitValues : Arrays.copyOf(splitValues, n);
+        }
+        return values;
+    }
+
+    private static class FloorRuns {
+        int count = 0;
+        long[] finished = new long[16];
+        int[] millis = new int[16 * SPLITS];
+        int[] ticks = new int[16 * SPLITS];
+        final int[][] sorted = new int[SPLITS][16];
+        final int[] sortedCount = new int[SPLITS];
+        boolean isSorted = true;
+
+        void add(long time, int[] runMillis, int[] runTicks) {
+            if (count == finished.length) {
+                finished = Arrays.copyOf(finished, count * 2);
+                millis = Arrays.copyOf(millis, count * 2 * SPLITS);
+                ticks = Arrays.copyOf(ticks, count * 2 * SPLITS);
+            }
+            finished[count] = time;
+            System.arraycopy(runMillis, 0, millis, count * SPLITS, SPLITS);
+            System.arraycopy(runTicks, 0, ticks, count * SPLITS, SPLITS);
+            count++;
+
+            for (int i = 0; i < SPLITS; i++) {
+                int value = runMillis[i];
+                if (value < 0) continue;
+
+                int n = sortedCount[i];
+                if (n == sorted[i].length) sorted[i] = Arrays.copyOf(sorted[i], n * 2);
+                int at = n;
+                if (isSorted) {
+                    at = Arrays.binarySearch(sorted[i], 0, n, value);
+                    if (at < 0) at = -1 - at;
+                    System.arraycopy(sorted[i], at, sorted[i], at + 1, n - at);
+                }
+                sorted[i][at] = value;
+                sortedCount[i]++;
+            }
+        }
+
+        FloorRuns sorted() {
+            if (!isSorted) {
+                for (int i = 0; i < SPLITS; i++) Arrays.sort(sorted[i], 0, sortedCount[i]);
+                isSorted = true;
+            }
+            return this;
+        }
+    }
+}
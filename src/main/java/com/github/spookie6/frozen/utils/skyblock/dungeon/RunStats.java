@@ -0,0 +1,90 @@
+package com.github.spookie6.frozen.utils.skyblock.dungeon;
+
+import com.github.spookie6.frozen.utils.ChatUtils;
+import com.github.spookie6.frozen.utils.P2Quantile;
+import com.github.spookie6.frozen.utils.TimeFormat;
+import com.github.spookie6.frozen.utils.skyblock.dungeon.SplitsManager.Split;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.spookie6.frozen.Frozen.mc;
+
+/**
+ * Per split statistics over the last runs of a floor for {@code /frozen stats}. Mean and spread
+ * come from running sums, quantiles from a sort of the values for small samples and P²
+ * estimators past {@link #EXACT_LIMIT}. Computed on the run history thread, the resulting lines
+ * are sent to chat from the client thread.
+ */
+public class RunStats {
+    // Below this many values P² is still settling, while sorting them is next to free
+    static final int EXACT_LIMIT = 128;
+
+    public static void sendStats(DungeonEnums.Floor floor, int limit) {
+        RunHistory.execute(() -> {
+            List<String> lines = compute(floor, limit);
+            mc.addScheduledTask(() -> {
+                for (String line : lines) ChatUtils.sendModInfo(line);
+            });
+        });
+    }
+
+    static List<String> compute(DungeonEnums.Floor floor, int limit) {
+        List<String> lines = new ArrayList<>();
+        int runs = Math.min(limit, RunHistory.getRunCount(floor));
+        if (runs == 0) {
+            lines.add("No saved runs on &b" + floor);
+            return lines;
+        }
+        lines.add("Last &b" + runs + " &7runs on &b" + floor);
+
+        // One window for every split, so a split that only some runs reach is not padded with older runs
+        int[][] window = RunHistory.getRecentMillis(floor, runs);
+        for (Split split : Split.values()) {
+            if (split.ordinal() >= RunHistory.SPLITS) continue;
+            int[] values = window[split.ordinal()];
+            if (values.length == 0) continue;
+
+            boolean exact = values.length <= EXACT_LIMIT;
+            P2Quantile median = exact ? null : new P2Quantile(0.5);
+            P2Quantile p90 = exact ? null : new P2Quantile(0.9);
+            double mean = 0, m2 = 0;
+            int best = Integer.MAX_VALUE;
+            for (int i = 0; i < values.length; i++) {
+                int value = values[i];
+                if (!exact) {
+                    median.add(value);
+                    p90.add(value);
+                }
+                if (value < best) best = value;
+
+                // Welford's running mean and variance
+                double delta = value - mean;
+                mean += delta / (i + 1);
+                m2 += delta * (value - mean);
+            }
+            double stddev = Math.sqrt(m2 / values.length);
+            // values is a fresh copy, so sorting it in place is fine
+            if (exact) Arrays.sort(values);
+            long medianMillis = Math.round(exact ? quantile(values, 0.5) : median.get());
+            long p90Millis = Math.round(exact ? quantile(values, 0.9) : p90.get());
+            long consistency = mean <= 0 ? 0 : Math.max(0, Math.round(100 * (1 - stddev / mean)));
+
+            StringBuilder sb = new StringBuilder(split.name);
+            TimeFormat.appendSeconds(sb.append(" §7mean §f"), Math.round(mean), TimeFormat.MILLIS, 2);
+            TimeFormat.appendSeconds(sb.append(" §7med §f"), medianMillis, TimeFormat.MILLIS, 2);
+            TimeFormat.appendSeconds(sb.append(" §7p90 §f"), p90Millis, TimeFormat.MILLIS, 2);
+            TimeFormat.appendSeconds(sb.append(" §7best §a"), best, TimeFormat.MILLIS, 2);
+            sb.append(" §7cons §f").append(consistency).append('%');
+            if (values.length < runs) sb.append(" §8(").append(values.length).append(" runs)");
+            lines.add(sb.toString());
+        }
+        return lines;
+    }
+
+    /** Nearest rank quantile of sorted values, the same rank P2Quantile uses for small counts. */
+    static int quantile(int[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.round(p * (sorted.length - 1)))];
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.spookie6.frozen.utils.skyblock.dungeon;
+
+import com.github.spookie6.frozen.utils.skyblock.dungeon.SplitsManager.Split;
+
+import java.util.Arrays;
+
+/**
+ * The splits of a single run in floor order, with the completion millis and ticks of every split
+ * in parallel arrays. Only the split at {@link #index} is tested against incoming messages, and
+ * only when the message starts with a character its pattern can start with.
+ */
+class SplitEngine {
+    private static final Split[] BASE = {Split.BloodOpened, Split.BloodCleared, Split.Portal, Split.BossEntry};
+    private static final Split[] F7 = {Split.Maxor, Split.Storm, Split.Terminals, Split.Goldor, Split.Necron};
+
+    final DungeonEnums.Floor floor;
+    final Split[] order;
+    final long[] millis;
+    final long[] ticks;
+    private final int[] positions = new int[Split.values().length];
+    private int index = 0;
+
+    SplitEngine(DungeonEnums.Floor floor, boolean bossSplit) {
+        this.floor = floor;
+        Split[] order = Arrays.copyOf(BASE, BASE.length + F7.length + 2);
+        // The Entrance has no boss room, so the run ends once blood is cleared
+        boolean entrance = floor.isFloor(0);
+        int size = entrance ? 2 : BASE.length;
+        if (floor.isFloor(7)) {
+            for (Split split : F7) order[size++] = split;
+            if (floor.isMM) order[size++] = Split.Dragons;
+        }
+        if (bossSplit && !entrance) order[size++] = Split.Boss;
+
+        this.order = Arrays.copyOf(order, size);
+        this.millis = new long[size];
+        this.ticks = new long[size];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < size; i++) positions[this.order[i].ordinal()] = i;
+    }
+
+    Split getCurrent() {
+        return index < order.length ? order[index] : Split.Unknown;
+    }
+
+    /** Position of the split in this run, or -1 when the run doesn't have it. */
+    int indexOf(Split split) {
+        return positions[split.ordinal()];
+    }
+
+    boolean isDone(Split split) {
+        int i = indexOf(split);
+        return i >= 0 && millis[i] > 0;
+    }
+
+    /**
+     * Tests the message against the current split and records it when it matches.
+     * Returns the completed split, or null when the message didn't complete one.
+     */
+    Split onMessage(String message, long now, long tick) {
+        Split current = getCurrent();
+        if (current == Split.Unknown || message.isEmpty() || current.firstChars.indexOf(message.charAt(0)) < 0) return null;
+        if (!current.regex.matcher(message).find()) return null;
+
+        record(current, now, tick);
+        if (current == Split.Portal) record(Split.BossEntry, now, tick);
+        if (current == Split.Dragons) record(Split.Boss, now, tick);
+
+        if (current == Split.Boss || current == Split.Dragons) {
+            index = order.length;
+        } else {
+            while (index < order.length && millis[index] > 0) index++;
+        }
+        return current;
+    }
+
+    private void record(Split split, long now, long tick) {
+        int i = indexOf(split);
+        if (i < 0) return;
+        millis[i] = now;
+        ticks[i] = tick;
+    }
+}
@@ -1,157 +1,156 @@
 package com.github.spookie6.frozen.utils.skyblock.dungeon;
 
 import com.github.spookie6.frozen.config.ModConfig;
-import com.mojang.realmsclient.gui.ChatFormatting;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
+import com.github.spookie6.frozen.events.ChatRules;
 import com.github.spookie6.frozen.events.impl.ChatPacketEvent;
-import com.github.spookie6.frozen.events.impl.ServerTickEvent;
 import com.github.spookie6.frozen.utils.ChatUtils;
-import com.github.spookie6.frozen.utils.StringUtils;
+import com.github.spookie6.frozen.utils.TickClock;
+import com.github.spookie6.frozen.utils.TimeFormat;
 import com.github.spookie6.frozen.utils.skyblock.LocationUtils;
 import net.minecraftforge.fml.common.network.FMLNetworkEvent;
 
-import java.util.*;
+import org.apache.commons.lang3.StringUtils;
+
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class SplitsManager {
     public static Split currentSplit = Split.Unknown;
+    // Wall millis and TickClock ticks at the start of the run
     private static long[] runStarted = {0, 0};
-    private static long ticks = 0;
-    private static boolean firstTick = false;
 
     private static boolean showMins = false;
     private static boolean showTickMins = false;
 
-    private final static LinkedHashMap<Split, long[]> splits = new LinkedHashMap<>();
+    private static SplitEngine run = null;
+
+    public SplitsManager() {
+        RunHistory.load();
+        ChatRules.registerFind("\\[NPC] Mort: Here, I found this map when I first entered the dungeon\\.|\\[NPC] Mort: Right-click the Orb for spells, and Left-click \\(or Drop\\) to use your Ultimate", m -> {
+            if (isInitialized() && runStarted[0] <= 0) runStarted = new long[]{System.currentTimeMillis(), TickClock.getTicks()};
+        });
+    }
 
     public static void initialize(DungeonEnums.Floor floor) {
         if (floor == null) return;
         if (ModConfig.debugMessages) ChatUtils.sendModInfo("Splitsmanager initializing for floor: " + floor.toString());
 
-//        Defining splits for this run.
-        for (Split split : Arrays.asList(Split.BloodOpened, Split.BloodCleared, Split.Portal, Split.BossEntry)) {
-            splits.put(split, new long[]{0L, 0L});
-        }
-
-        if (floor.isFloor(7)) {
-            for (Split split : Arrays.asList(Split.Maxor, Split.Storm, Split.Terminals, Split.Goldor, Split.Necron)) {
-                splits.put(split, new long[]{0L, 0L});
-            }
-            if (floor.isMM) {
-                splits.put(Split.Dragons, new long[]{0L, 0L});
-            }
-        }
-
-        if (ModConfig.showBossSplit == 0 || (ModConfig.showBossSplit == 2 && !floor.isFloor(7) && !floor.isFloor(0)) || (ModConfig.showBossSplit == 3 && floor.isFloor(7))) {
-            splits.put(Split.Boss, new long[]{0L, 0L});
-        }
-        currentSplit = Split.BloodOpened;
+        boolean bossSplit = ModConfig.showBossSplit == 0 || (ModConfig.showBossSplit == 2 && !floor.isFloor(7) && !floor.isFloor(0)) || (ModConfig.showBossSplit == 3 && floor.isFloor(7));
+        run = new SplitEngine(floor, bossSplit);
+        currentSplit = run.getCurrent();
     }
 
     @SubscribeEvent(receiveCanceled = true)
     public void onChatPacket(ChatPacketEvent e) {
-        if (e.message.toLowerCase().contains("starting in 4") && !isInitialized()) {
-            initialize(DungeonUtils.getFloor());
+        // ChatPacketEvent already strips formatting.
+        String message = e.message;
+        if (!isInitialized()) {
+            if (StringUtils.containsIgnoreCase(message, "starting in 4")) initialize(DungeonUtils.getFloor());
+            return;
         }
 
-        if (!isInitialized()) return;
-        long now = System.currentTimeMillis();
+        Split completed = run.onMessage(message, System.currentTimeMillis(), getRunTicks());
+        if (completed == null) return;
+        currentSplit = run.getCurrent();
 
-        Pattern startRegex = Pattern.compile("\\[NPC] Mort: Here, I found this map when I first entered the dungeon\\.|\\[NPC] Mort: Right-click the Orb for spells, and Left-click \\(or Drop\\) to use your Ultimate");
-        if (startRegex.matcher(ChatFormatting.stripFormatting(e.message)).find() && runStarted[0] <= 0) runStarted[0] = now;
-
-        if (currentSplit.regex.matcher(ChatFormatting.stripFormatting(e.message)).find()) {
-            splits.put(currentSplit, new long[]{now, ticks});
-            if (currentSplit.equals(Split.Portal)) {
-                LocationUtils.currentDungeon.inBoss = true;
-                splits.put(Split.BossEntry, new long[]{now, ticks});
-            }
-            if (currentSplit.equals(Split.Dragons) && splits.get(Split.Boss) != null) {
-                splits.put(Split.Boss, new long[]{now, ticks});
-            }
-            if (currentSplit.equals(Split.Boss) || currentSplit.equals(Split.Dragons)) {
-                sendAllSplitsToChat();
-                currentSplit = Split.Unknown;
-                return;
-            }
-            if (ModConfig.sendSplits) ChatUtils.sendModInfo(currentSplit.name + " &7took " + getFormattedSplitTime(currentSplit));
-
-            // Set new current split
-            List<Split> remaining = splits.keySet().stream()
-                    .filter(x -> splits.get(x)[0] == 0)
-                    .collect(Collectors.toList());
-
-            if (!remaining.isEmpty()) {
-                currentSplit = remaining.get(0);
-            } else {
-                currentSplit = Split.Unknown; // Done
-            }
+        if (completed == Split.Portal && LocationUtils.currentDungeon != null) LocationUtils.currentDungeon.inBoss = true;
+        // The last split depends on the floor and showBossSplit, so save once the engine has passed all of them
+        if (currentSplit == Split.Unknown) saveRun();
+        if (completed == Split.Boss || completed == Split.Dragons) {
+            sendAllSplitsToChat();
+            return;
         }
+        if (ModConfig.sendSplits) ChatUtils.sendModInfo(getSplitMessage(completed));
     }
 
-    @SubscribeEvent
-    public void onServerTick(ServerTickEvent event) {
-        if (!isInitialized()) return;
-        if (!firstTick && runStarted[0] > 0) {
-            ticks = 0;
-            firstTick = true;
-        }
-        if (firstTick) ticks++;
+    private static long getRunTicks() {
+        return runStarted[0] > 0 ? TickClock.getTicks() - runStarted[1] : 0;
     }
 
     public static long[] getSplitTime(Split split) {
-        if (runStarted[0] <= 0) return new long[]{0, 0};
+        if (runStarted[0] <= 0 || run == null) return new long[]{0, 0};
+        int i = run.indexOf(split);
+        if (i < 0) return new long[]{0, 0};
 
-        if (split.equals(Split.BloodOpened)) {
-            if (splits.get(Split.BloodOpened)[0] > 0) return new long[]{splits.get(Split.BloodOpened)[0] - runStarted[0], splits.get(Split.BloodOpened)[1]};
-            return new long[]{System.currentTimeMillis() - runStarted[0], ticks};
-        }
-
-        if (split.equals(Split.BossEntry)) {
-            if (splits.get(Split.BossEntry)[0] > 0) return new long[]{splits.get(Split.BossEntry)[0] - runStarted[0], splits.get(Split.BossEntry)[1]};
-            return new long[]{System.currentTimeMillis() - runStarted[0], ticks};
+        long now = System.currentTimeMillis();
+        long ticks = getRunTicks();
+        if (split == Split.BloodOpened || split == Split.BossEntry) {
+            if (run.millis[i] > 0) return new long[]{run.millis[i] - runStarted[0], run.ticks[i]};
+            return new long[]{now - runStarted[0], ticks};
         }
 
-        if (split.equals(Split.Boss)) {
+        if (split == Split.Boss) {
             if (!DungeonUtils.getInBoss()) return new long[]{0, 0};
-            if (splits.get(Split.Boss)[0] > 0) return new long[]{(splits.get(Split.Boss)[0] - splits.get(Split.BossEntry)[0]), (splits.get(Split.Boss)[1] - splits.get(Split.BossEntry)[1])};
-            return new long[]{(System.currentTimeMillis() - splits.get(Split.BossEntry)[0]), (ticks - splits.get(Split.BossEntry)[1])};
+            int entry = run.indexOf(Split.BossEntry);
+            if (run.millis[i] > 0) return new long[]{run.millis[i] - run.millis[entry], run.ticks[i] - run.ticks[entry]};
+            return new long[]{now - run.millis[entry], ticks - run.ticks[entry]};
         }
 
-        long[] pValue = {0, 0};
-        for (Split spl : splits.keySet()) {
-            if (split == spl) {
-                if (spl == currentSplit) return new long[]{(System.currentTimeMillis() - pValue[0]), ticks - pValue[1]};
-                if (splits.get(spl)[0] > 0) return new long[]{(splits.get(spl)[0] - pValue[0]), splits.get(spl)[1] - pValue[1]};
-            }
-            pValue = splits.get(spl);
-        }
+        long previousMillis = i > 0 ? run.millis[i - 1] : 0;
+        long previousTicks = i > 0 ? run.ticks[i - 1] : 0;
+        if (split == currentSplit) return new long[]{now - previousMillis, ticks - previousTicks};
+        if (run.millis[i] > 0) return new long[]{run.millis[i] - previousMillis, run.ticks[i] - previousTicks};
         return new long[]{0, 0};
     }
 
     public static String getFormattedSplitTime(Split split) {
+        return appendSplitTime(new StringBuilder(), split).toString();
+    }
+
+    private static StringBuilder appendSplitTime(StringBuilder sb, Split split) {
         long[] time = getSplitTime(split);
-        return String.format("§a%s§r §8[§7%s§r§8]§r",
-                StringUtils.formatTime((float) time[0] / 1000, showMins),
-                StringUtils.formatTime((float) time[1] / 20, showTickMins)
-        );
+        TimeFormat.appendTime(sb.append("§a"), time[0], TimeFormat.MILLIS, showMins).append("§r §8[§7");
+        return TimeFormat.appendTime(sb, time[1], TimeFormat.TICKS, showTickMins).append("§r§8]§r");
+    }
+
+    /**
+     * Chat line for a split, with the time the server lagged behind 20 TPS during it when that
+     * was at least a tick.
+     */
+    private static String getSplitMessage(Split split) {
+        StringBuilder sb = appendSplitTime(new StringBuilder(split.name).append(" &7took "), split);
+        long[] time = getSplitTime(split);
+        long lag = TickClock.getLagMillis(time[0], time[1]);
+        if (lag >= TickClock.MILLIS_PER_TICK) TimeFormat.appendSeconds(sb.append(" &8(&c+"), lag, TimeFormat.MILLIS, 2).append("s lag&8)");
+        return sb.toString();
     }
 
     public static String getText() {
         if (!isInitialized()) return "";
-        List<String> lines = new ArrayList<>();
-        for (Split split : splits.keySet()) {
-            lines.add(split.name + '#' + getFormattedSplitTime(split));
+        StringBuilder sb = new StringBuilder();
+        for (Split split : run.order) {
+            if (sb.length() > 0) sb.append('\n');
+            appendSplitTime(sb.append(split.name).append('#'), split);
+            if (ModConfig.splitsPbDelta) appendPbDelta(sb, split);
         }
-        return String.join("\n", lines);
+        return sb.toString();
     }
 
-    public void sendAllSplitsToChat() {
-        for (Split split : splits.keySet()) {
-            ChatUtils.sendModInfo(split.name + " &7took " + getFormattedSplitTime(split));
+    /** Appends the difference to the best time of the split, for the current split only once it's behind. */
+    private static void appendPbDelta(StringBuilder sb, Split split) {
+        int best = RunHistory.getBest(run.floor, split);
+        if (best < 0 || !run.isDone(split) && split != currentSplit) return;
+
+        long delta = getSplitTime(split)[0] - best;
+        if (split == currentSplit && delta <= 0) return;
+        sb.append(delta > 0 ? " §c+" : " §a");
+        TimeFormat.appendSeconds(sb, delta, TimeFormat.MILLIS, 2).append("§r");
+    }
+
+    private static void saveRun() {
+        if (runStarted[0] <= 0) return;
+        long[][] times = new long[RunHistory.SPLITS][];
+        for (Split split : run.order) {
+            if (run.isDone(split)) times[split.ordinal()] = getSplitTime(split);
+        }
+        RunHistory.append(run.floor, times);
+    }
+
+    public static void sendAllSplitsToChat() {
+        for (Split split : run.order) {
+            ChatUtils.sendModInfo(getSplitMessage(split));
         }
     }
 
@@ -162,37 +161,37 @@ public class SplitsManager {
 
     private static void reset() {
         runStarted = new long[]{0, 0};
-        ticks = 0;
-        firstTick = false;
         currentSplit = Split.Unknown;
-
-        splits.clear();
+        run = null;
     }
 
     public static boolean isInitialized() {
-        return !currentSplit.equals(Split.Unknown);
+        return currentSplit != Split.Unknown;
     }
 
     public enum Split {
-        BloodOpened(Pattern.compile("^\\[BOSS] The Watcher: (Congratulations, you made it through the Entrance\\.|Ah, you've finally arrived\\.|Ah, we meet again\\.\\.\\.|So you made it this far\\.\\.\\. interesting\\.|You've managed to scratch and claw your way here, eh\\?|I'm starting to get tired of seeing you around here\\.\\.\\.|Oh\\.\\. hello\\?|Things feel a little more roomy now, eh\\?)|^The BLOOD DOOR has been opened!"), "§4Blood Open§r"),
-        BloodCleared(Pattern.compile("\\[BOSS] The Watcher: You have proven yourself\\. You may pass\\."), "§cBlood Clear§r"),
-        Portal(Pattern.compile("^\\[BOSS] (Bonzo: Gratz for making it this far, but I'm basically unbeatable\\.|Scarf: This is where the journey ends for you, Adventurers\\.|The Professor: I was burdened with terrible news recently\\.\\.\\.|Thorn: Welcome Adventurers! I am Thorn, the Spirit! And host of the Vegan Trials!|Livid: Welcome, you've arrived right on time\\. I am Livid, the Master of Shadows\\.|Sadan: So you made it all the way here\\.\\.\\. Now you wish to defy me\\? Sadan\\?!|Maxor: WELL! WELL! WELL! LOOK WHO'S HERE!)"), "§dPortal§r"),
-        BossEntry(Pattern.compile("^\\[BOSS] (Bonzo: Gratz for making it this far, but I'm basically unbeatable\\.|Scarf: This is where the journey ends for you, Adventurers\\.|The Professor: I was burdened with terrible news recently\\.\\.\\.|Thorn: Welcome Adventurers! I am Thorn, the Spirit! And host of the Vegan Trials!|Livid: Welcome, you've arrived right on time\\. I am Livid, the Master of Shadows\\.|Sadan: So you made it all the way here\\.\\.\\. Now you wish to defy me\\? Sadan\\?!|Maxor: WELL! WELL! WELL! LOOK WHO'S HERE!)"), "§9Boss Entry§r"),
-        Maxor(Pattern.compile("\\[BOSS] Storm: Pathetic Maxor, just like expected\\."), "§5Maxor§r"),
-        Storm(Pattern.compile("\\[BOSS] Goldor: Who dares trespass into my domain\\?"), "§3Storm§r"),
-        Terminals(Pattern.compile("The Core entrance is opening!"), "§eTerminals§r"),
-        Goldor(Pattern.compile("\\[BOSS] Necron: You went further than any human before, congratulations\\."), "§6Goldor§r"),
-        Necron(Pattern.compile("\\[BOSS] Necron: All this, for nothing\\.\\.\\."), "§cNecron§r"),
-        Dragons(Pattern.compile("^\\s*☠ Defeated (.+) in 0?([\\dhms ]+?)\\s*(\\(NEW RECORD!\\))?$"), "§4Dragons§r"),
-        Boss(Pattern.compile("^\\s*☠ Defeated (.+) in 0?([\\dhms ]+?)\\s*(\\(NEW RECORD!\\))?$"), "§bBoss§r"),
-        Unknown(Pattern.compile(""), "");
+        BloodOpened(Pattern.compile("^\\[BOSS] The Watcher: (Congratulations, you made it through the Entrance\\.|Ah, you've finally arrived\\.|Ah, we meet again\\.\\.\\.|So you made it this far\\.\\.\\. interesting\\.|You've managed to scratch and claw your way here, eh\\?|I'm starting to get tired of seeing you around here\\.\\.\\.|Oh\\.\\. hello\\?|Things feel a little more roomy now, eh\\?)|^The BLOOD DOOR has been opened!"), "§4Blood Open§r", "[T"),
+        BloodCleared(Pattern.compile("\\[BOSS] The Watcher: You have proven yourself\\. You may pass\\."), "§cBlood Clear§r", "["),
+        Portal(Pattern.compile("^\\[BOSS] (Bonzo: Gratz for making it this far, but I'm basically unbeatable\\.|Scarf: This is where the journey ends for you, Adventurers\\.|The Professor: I was burdened with terrible news recently\\.\\.\\.|Thorn: Welcome Adventurers! I am Thorn, the Spirit! And host of the Vegan Trials!|Livid: Welcome, you've arrived right on time\\. I am Livid, the Master of Shadows\\.|Sadan: So you made it all the way here\\.\\.\\. Now you wish to defy me\\? Sadan\\?!|Maxor: WELL! WELL! WELL! LOOK WHO'S HERE!)"), "§dPortal§r", "["),
+        BossEntry(Pattern.compile("^\\[BOSS] (Bonzo: Gratz for making it this far, but I'm basically unbeatable\\.|Scarf: This is where the journey ends for you, Adventurers\\.|The Professor: I was burdened with terrible news recently\\.\\.\\.|Thorn: Welcome Adventurers! I am Thorn, the Spirit! And host of the Vegan Trials!|Livid: Welcome, you've arrived right on time\\. I am Livid, the Master of Shadows\\.|Sadan: So you made it all the way here\\.\\.\\. Now you wish to defy me\\? Sadan\\?!|Maxor: WELL! WELL! WELL! LOOK WHO'S HERE!)"), "§9Boss Entry§r", "["),
+        Maxor(Pattern.compile("\\[BOSS] Storm: Pathetic Maxor, just like expected\\."), "§5Maxor§r", "["),
+        Storm(Pattern.compile("\\[BOSS] Goldor: Who dares trespass into my domain\\?"), "§3Storm§r", "["),
+        Terminals(Pattern.compile("The Core entrance is opening!"), "§eTerminals§r", "T"),
+        Goldor(Pattern.compile("\\[BOSS] Necron: You went further than any human before, congratulations\\."), "§6Goldor§r", "["),
+        Necron(Pattern.compile("\\[BOSS] Necron: All this, for nothing\\.\\.\\."), "§cNecron§r", "["),
+        Dragons(Pattern.compile("^\\s*☠ Defeated (.+) in 0?([\\dhms ]+?)\\s*(\\(NEW RECORD!\\))?$"), "§4Dragons§r", " ☠"),
+        Boss(Pattern.compile("^\\s*☠ Defeated (.+) in 0?([\\dhms ]+?)\\s*(\\(NEW RECORD!\\))?$"), "§bBoss§r", " ☠"),
+        Unknown(Pattern.compile(""), "", "");
 
         public final Pattern regex;
         public final String name;
+        // Characters a matching message can start with, checked before running the pattern
+        final String firstChars;
 
-        Split(Pattern regex, String name) {
+        Split(Pattern regex, String name, String firstChars) {
             this.regex = regex;
             this.name = name;
+            this.firstChars = firstChars;
         }
 
         public DungeonEnums.M7Phases getM7Phase() {
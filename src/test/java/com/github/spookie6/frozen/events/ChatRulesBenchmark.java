@@ -0,0 +1,110 @@
+package com.github.spookie6.frozen.events;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Replays the chat corpus in {@code chat/corpus.txt} through {@link ChatRules#dispatch} and through
+ * the per-feature {@link String#matches} loop it replaced, with the rules the features register.
+ * Not a test, run the main method by hand.
+ */
+public class ChatRulesBenchmark {
+    private static final String NAME = "(?:(\\[[^\\]]+]) )?(\\w{3,16})";
+    // {regex, find} as registered by TickTimers, PartyUtils, SplitsManager, CrystalTitle, HiderAfterLeap and WarpCooldown
+    private static final Object[][] RULES = {
+            {"^-*\\n\\[[^]]+] (\\w+) entered (?:MM )?\\w+ Catacombs, Floor (\\w+)!\\n-*$", false},
+            {"^\\[BOSS] Maxor: THAT BEAM! IT HURTS! IT HURTS!!$", false},
+            {"^\\[BOSS] Maxor: YOU TRICKED ME!$", false},
+            {"^\\[BOSS] Storm: Pathetic Maxor, just like expected\\.$", false},
+            {"^\\[BOSS] Storm: I should have known that I stood no chance\\.$", false},
+            {"^\\[BOSS] Storm: Oof", false},
+            {"\\[BOSS] Storm: Ouch, that hurt!$", false},
+            {"^\\[BOSS] Goldor: Who dares trespass into my domain\\?$", false},
+            {"^The Core entrance is opening!$", false},
+            {"You have teleported to (\\w{1,16})!", false},
+            {"(\\w+) picked up an Energy Crystal!", false},
+            {"^.+ has disbanded the party!$", false},
+            {"^You have been kicked from the party by .+$", false},
+            {"^The party was disbanded because all invites expired and the party was empty\\.$", false},
+            {"^The party was disbanded because the party leader disconnected\\.", false},
+            {"^You left the party.$", false},
+            {"^You are not currently in a party\\.$", false},
+            {"^Party Members \\(\\d+\\)$", false},
+            {"^" + NAME + " joined the party\\.$", false},
+            {"^Party > " + NAME + ": .+$", false},
+            {"^You have joined " + NAME + "'s party!$", false},
+            {"^" + NAME + " (?:has left|has been removed from) the party\\.$", false},
+            {"^Party (Leader|Moderators|Members): (.+)$", false},
+            {"^The party leader, " + NAME + " has disconnected, they have 5 minutes to rejoin before the party is disbanded\\.$", false},
+            {"^" + NAME + " has disconnected, they have 5 minutes to rejoin before they are removed from the party\\.$", false},
+            {"^The party was transferred to " + NAME + " by " + NAME + "$", false},
+            {"^The party was transferred to " + NAME + " because " + NAME + " left$", false},
+            {"^Party Finder > (\\w{3,16}) joined the dungeon group! \\((\\w+) Level (\\d+)\\)$", false},
+            {"\\[NPC] Mort: Here, I found this map when I first entered the dungeon\\.|\\[NPC] Mort: Right-click the Orb for spells, and Left-click \\(or Drop\\) to use your Ultimate", true},
+    };
+    private static final int WARMUP = 1_000;
+    private static final int ROUNDS = 5_000;
+
+    private static int matched = 0;
+
+    public static void main(String[] args) throws IOException {
+        List<String> corpus = readCorpus();
+        for (Object[] rule : RULES) {
+            if ((Boolean) rule[1]) ChatRules.registerFind((String) rule[0], m -> matched++);
+            else ChatRules.register((String) rule[0], m -> matched++);
+        }
+
+        for (int i = 0; i < WARMUP; i++) {
+            replayRules(corpus);
+            replayMatches(corpus);
+        }
+
+        matched = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) replayRules(corpus);
+        long rules = System.nanoTime() - start;
+        int rulesMatched = matched;
+
+        matched = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) replayMatches(corpus);
+        long matches = System.nanoTime() - start;
+        if (matched != rulesMatched) throw new IllegalStateException("ChatRules matched " + rulesMatched + " times, String.matches " + matched);
+
+        long messages = (long) ROUNDS * corpus.size();
+        System.out.printf("%d messages, %d rules, %d matches per pass%n", corpus.size(), RULES.length, matched / ROUNDS);
+        System.out.printf("ChatRules.dispatch %8.1f ns/message%n", (double) rules / messages);
+        System.out.printf("String.matches     %8.1f ns/message%n", (double) matches / messages);
+    }
+
+    private static void replayRules(List<String> corpus) {
+        for (int i = 0; i < corpus.size(); i++) ChatRules.dispatch(corpus.get(i));
+    }
+
+    // What the features did before: every rule tried against every message, compiling as it goes
+    private static void replayMatches(List<String> corpus) {
+        for (int i = 0; i < corpus.size(); i++) {
+            String message = corpus.get(i);
+            for (Object[] rule : RULES) {
+                String regex = (String) rule[0];
+                if ((Boolean) rule[1] ? Pattern.compile(regex).matcher(message).find() : message.matches(regex)) matched++;
+            }
+        }
+    }
+
+    private static List<String> readCorpus() throws IOException {
+        List<String> corpus = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ChatRulesBenchmark.class.getResourceAsStream("/chat/corpus.txt"), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && !line.startsWith("#")) corpus.add(line);
+            }
+        }
+        return corpus;
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.spookie6.frozen.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class P2QuantileTest {
+    @Test
+    public void exactUpToFiveValues() {
+        double[] values = {331232, 287509, 250000, 301904, 270000};
+        for (int n = 1; n <= values.length; n++) {
+            double[] sorted = Arrays.copyOf(values, n);
+            Arrays.sort(sorted);
+            for (double p : new double[]{0, 0.5, 0.9, 1}) {
+                P2Quantile quantile = new P2Quantile(p);
+                for (int i = 0; i < n; i++) quantile.add(values[i]);
+                assertEquals("n=" + n + " p=" + p, sorted[(int) Math.round(p * (n - 1))], quantile.get(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void emptyIsNaN() {
+        assertTrue(Double.isNaN(new P2Quantile(0.5).get()));
+    }
+
+    @Test
+    public void convergesOnLargeSamples() {
+        Random random = new Random(7);
+        double[] values = new double[5000];
+        P2Quantile median = new P2Quantile(0.5);
+        P2Quantile p90 = new P2Quantile(0.9);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 60000 + random.nextGaussian() * 8000;
+            median.add(values[i]);
+            p90.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(5000, median.getCount());
+        assertEquals(values[2500], median.get(), 500);
+        assertEquals(values[4500], p90.get(), 500);
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.spookie6.frozen.utils;
+
+/**
+ * Cost of formatting HUD timers with TimeFormat against the String.format calls it replaced.
+ * Not a test, run the main method by hand.
+ */
+public class TimeFormatBenchmark {
+    private static final int VALUES = 10_000;
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) {
+        long sink = 0;
+        for (int i = 0; i < 20; i++) sink += timeFormat() + stringFormat();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += timeFormat();
+        long fixed = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) sink += stringFormat();
+        long format = System.nanoTime() - start;
+
+        long calls = (long) ROUNDS * VALUES;
+        System.out.printf("TimeFormat.seconds %8.1f ns/call%n", (double) fixed / calls);
+        System.out.printf("String.format      %8.1f ns/call%n", (double) format / calls);
+        System.out.println("(" + sink + ")");
+    }
+
+    // Same output as stringFormat, checked by TimeFormatTest
+    private static long timeFormat() {
+        long length = 0;
+        for (int ticks = 0; ticks < VALUES; ticks++) length += TimeFormat.seconds(ticks, TimeFormat.TICKS, 2).length();
+        return length;
+    }
+
+    private static long stringFormat() {
+        long length = 0;
+        for (int ticks = 0; ticks < VALUES; ticks++) length += String.format("%.2f", ticks / 20.0).length();
+        return length;
+    }
+}
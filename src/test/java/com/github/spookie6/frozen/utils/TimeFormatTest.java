@@ -0,0 +1,74 @@
+package com.github.spookie6.frozen.utils;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class TimeFormatTest {
+    /** String.format on the exact decimal value rounds half up, which is what TimeFormat promises. */
+    private static String reference(long value, int unitsPerSecond, int decimals) {
+        return String.format(Locale.ROOT, "%." + decimals + "f", BigDecimal.valueOf(value).divide(BigDecimal.valueOf(unitsPerSecond)));
+    }
+
+    @Test
+    public void millisMatchStringFormat() {
+        for (long millis = 0; millis <= 200_000; millis++) {
+            for (int decimals = 0; decimals <= 3; decimals++) {
+                assertEquals(millis + " " + decimals, reference(millis, TimeFormat.MILLIS, decimals), TimeFormat.seconds(millis, TimeFormat.MILLIS, decimals));
+            }
+        }
+    }
+
+    @Test
+    public void ticksMatchStringFormat() {
+        for (long ticks = 0; ticks <= 20_000; ticks++) {
+            for (int decimals = 0; decimals <= 4; decimals++) {
+                assertEquals(ticks + " " + decimals, reference(ticks, TimeFormat.TICKS, decimals), TimeFormat.seconds(ticks, TimeFormat.TICKS, decimals));
+            }
+        }
+    }
+
+    @Test
+    public void roundsHalfUp() {
+        assertEquals("1.01", TimeFormat.seconds(1005, TimeFormat.MILLIS, 2));
+        assertEquals("1.00", TimeFormat.seconds(1004, TimeFormat.MILLIS, 2));
+        assertEquals("0.2", TimeFormat.seconds(3, TimeFormat.TICKS, 1));
+        assertEquals("1", TimeFormat.seconds(10, TimeFormat.TICKS, 0));
+        assertEquals("10.00", TimeFormat.seconds(9995, TimeFormat.MILLIS, 2));
+    }
+
+    @Test
+    public void negativeValues() {
+        assertEquals("-1.01", TimeFormat.seconds(-1005, TimeFormat.MILLIS, 2));
+        assertEquals("-0.05", TimeFormat.seconds(-1, TimeFormat.TICKS, 2));
+        // No sign once it rounds to zero
+        assertEquals("0.00", TimeFormat.seconds(-4, TimeFormat.MILLIS, 2));
+        assertEquals("-0.01s", TimeFormat.time(-5, TimeFormat.MILLIS, false));
+    }
+
+    @Test
+    public void minutes() {
+        assertEquals("61.23s", TimeFormat.time(61234, TimeFormat.MILLIS, false));
+        assertEquals("1m 1.23s", TimeFormat.time(61234, TimeFormat.MILLIS, true));
+        assertEquals("59.99s", TimeFormat.time(59994, TimeFormat.MILLIS, true));
+        // Rounding up into the next minute carries over
+        assertEquals("1m 0.00s", TimeFormat.time(59995, TimeFormat.MILLIS, true));
+        assertEquals("2m 5.05s", TimeFormat.time(2501, TimeFormat.TICKS, true));
+    }
+
+    @Test
+    public void prefixAndSuffix() {
+        assertEquals("Mask: 1.5s", TimeFormat.seconds("Mask: ", 1500, TimeFormat.MILLIS, 1, "s"));
+    }
+
+    @Test
+    public void formatTimeRoundsHalfUp() {
+        assertEquals("0.00s", StringUtils.formatTime(0, false));
+        assertEquals("1.01s", StringUtils.formatTime(1.005f, false));
+        assertEquals("12.35s", StringUtils.formatTime(12.345f, false));
+        assertEquals("1m 15.50s", StringUtils.formatTime(75.5f, true));
+    }
+}
@@ -0,0 +1,143 @@
+package com.github.spookie6.frozen.utils.overlays;
+
+import com.github.spookie6.frozen.utils.overlays.DirtyRegionTracker.Region;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DirtyRegionTrackerTest {
+    private static final Object SPLITS = "splits";
+    private static final Object MASKS = "masks";
+
+    private DirtyRegionTracker tracker;
+
+    /** Starts every test from a settled frame with both overlays cached. */
+    @Before
+    public void settle() {
+        tracker = new DirtyRegionTracker();
+        tracker.invalidateAll(400, 300);
+        frame(0, 0);
+    }
+
+    private void frame(long splitsVersion, long masksVersion) {
+        tracker.beginFrame();
+        tracker.track(SPLITS, 10, 10, 100, 50, splitsVersion);
+        tracker.track(MASKS, 200, 10, 80, 20, masksVersion);
+        tracker.endFrame();
+    }
+
+    private static void assertRegion(Region region, int x, int y, int width, int height) {
+        assertEquals(x, region.x);
+        assertEquals(y, region.y);
+        assertEquals(width, region.width);
+        assertEquals(height, region.height);
+    }
+
+    @Test
+    public void firstFrameInvalidatesWholeScreen() {
+        DirtyRegionTracker fresh = new DirtyRegionTracker();
+        fresh.invalidateAll(400, 300);
+        fresh.beginFrame();
+        fresh.track(SPLITS, 10, 10, 100, 50, 0);
+        fresh.endFrame();
+
+        assertEquals(1, fresh.getDirtyRegions().size());
+        assertRegion(fresh.getDirtyRegions().get(0), 0, 0, 400, 300);
+    }
+
+    @Test
+    public void unchangedFrameIsClean() {
+        frame(0, 0);
+        assertFalse(tracker.hasDirtyRegions());
+    }
+
+    @Test
+    public void contentChangeDirtiesOnlyThatOverlay() {
+        frame(1, 0);
+        assertEquals(1, tracker.getDirtyRegions().size());
+        assertRegion(tracker.getDirtyRegions().get(0), 10, 10, 100, 50);
+    }
+
+    @Test
+    public void moveDirtiesOldAndNewBounds() {
+        tracker.beginFrame();
+        tracker.track(SPLITS, 10, 200, 100, 50, 0);
+        tracker.track(MASKS, 200, 10, 80, 20, 0);
+        tracker.endFrame();
+
+        List<Region> regions = tracker.getDirtyRegions();
+        assertEquals(2, regions.size());
+        assertRegion(regions.get(0), 10, 10, 100, 50);
+        assertRegion(regions.get(1), 10, 200, 100, 50);
+    }
+
+    @Test
+    public void overlappingRegionsAreMerged() {
+        tracker.beginFrame();
+        tracker.track(SPLITS, 40, 20, 100, 50, 0);
+        tracker.track(MASKS, 200, 10, 80, 20, 0);
+        tracker.endFrame();
+
+        assertEquals(1, tracker.getDirtyRegions().size());
+        assertRegion(tracker.getDirtyRegions().get(0), 10, 10, 130, 60);
+    }
+
+    @Test
+    public void mergesChainThroughUnions() {
+        // Splits grows until it touches masks, so old splits, new splits and masks collapse into one region
+        tracker.beginFrame();
+        tracker.track(SPLITS, 10, 10, 200, 50, 0);
+        tracker.track(MASKS, 200, 10, 80, 20, 1);
+        tracker.endFrame();
+
+        assertEquals(1, tracker.getDirtyRegions().size());
+        assertRegion(tracker.getDirtyRegions().get(0), 10, 10, 270, 50);
+    }
+
+    @Test
+    public void hiddenOverlayClearsItsOldBounds() {
+        tracker.beginFrame();
+        tracker.track(SPLITS, 10, 10, 100, 50, 0);
+        tracker.endFrame();
+
+        assertEquals(1, tracker.getDirtyRegions().size());
+        assertRegion(tracker.getDirtyRegions().get(0), 200, 10, 80, 20);
+
+        // Showing it again counts as new
+        frame(0, 0);
+        assertEquals(1, tracker.getDirtyRegions().size());
+        assertRegion(tracker.getDirtyRegions().get(0), 200, 10, 80, 20);
+    }
+
+    @Test
+    public void invalidateAllAfterResize() {
+        tracker.invalidateAll(800, 600);
+        frame(0, 0);
+        assertEquals(1, tracker.getDirtyRegions().size());
+        assertRegion(tracker.getDirtyRegions().get(0), 0, 0, 800, 600);
+
+        frame(0, 0);
+        assertFalse(tracker.hasDirtyRegions());
+    }
+
+    @Test
+    public void emptyOverlaysNeverDirty() {
+        tracker.beginFrame();
+        tracker.track(SPLITS, 10, 10, 100, 50, 0);
+        tracker.track(MASKS, 200, 10, 80, 20, 0);
+        tracker.track("empty", 50, 50, 0, 10, 0);
+        tracker.endFrame();
+        assertFalse(tracker.hasDirtyRegions());
+    }
+
+    @Test
+    public void regionIntersectionExcludesEdges() {
+        Region region = new Region(10, 10, 100, 50);
+        assertTrue(region.intersects(109, 59, 5, 5));
+        assertFalse(region.intersects(110, 10, 5, 5));
+        assertFalse(region.intersects(10, 60, 5, 5));
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.spookie6.frozen.utils.overlays;
+
+import com.github.spookie6.frozen.utils.BinarySnapshot;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Startup load time of overlays.json against its binary snapshot at 1k overlay entries. Not a
+ * test, run the main method by hand: the first round is a cold load, the rest are averaged.
+ */
+public class OverlaySnapshotBenchmark {
+    private static final int ENTRIES = 1000;
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) throws IOException {
+        File dir = Files.createTempDirectory("frozen-bench").toFile();
+        File jsonFile = new File(dir, "overlays.json");
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        Type type = new TypeToken<Map<String, OverlayConfig>>() {}.getType();
+        BinarySnapshot<Map<String, OverlayConfig>> binary = new BinarySnapshot<>(jsonFile, 1, OverlayConfig::encodeAll, OverlayConfig::decodeAll);
+
+        Map<String, OverlayConfig> configs = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < ENTRIES; i++) {
+            OverlayConfig config = new OverlayConfig();
+            config.x = random.nextInt(1920);
+            config.y = random.nextInt(1080);
+            config.scale = 0.5 + random.nextInt(30) / 10.0;
+            config.color = random.nextInt();
+            config.shadow = random.nextBoolean();
+            configs.put("overlay" + i, config);
+        }
+        try (Writer writer = Files.newBufferedWriter(jsonFile.toPath(), StandardCharsets.UTF_8)) {
+            gson.toJson(configs, writer);
+        }
+        binary.save(configs);
+
+        long[] json = new long[ROUNDS];
+        long[] snapshot = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            Map<String, OverlayConfig> loaded;
+            try (Reader reader = new FileReader(jsonFile)) {
+                loaded = gson.fromJson(reader, type);
+            }
+            json[round] = System.nanoTime() - start;
+            check(loaded);
+
+            start = System.nanoTime();
+            loaded = binary.load();
+            snapshot[round] = System.nanoTime() - start;
+            check(loaded);
+        }
+
+        System.out.printf("%d entries, json %d bytes, snapshot %d bytes%n", ENTRIES, jsonFile.length(), new File(dir, "overlays.bin").length());
+        print("json", json);
+        print("snapshot", snapshot);
+
+        for (File file : dir.listFiles()) file.delete();
+        dir.delete();
+    }
+
+    private static void check(Map<String, OverlayConfig> loaded) {
+        if (loaded == null || loaded.size() != ENTRIES) throw new IllegalStateException("load failed");
+    }
+
+    private static void print(String name, long[] nanos) {
+        long warm = 0;
+        for (int i = 1; i < nanos.length; i++) warm += nanos[i];
+        System.out.printf("%-8s cold %8.3f ms, warm %8.3f ms%n", name, nanos[0] / 1e6, warm / 1e6 / (nanos.length - 1));
+    }
+}
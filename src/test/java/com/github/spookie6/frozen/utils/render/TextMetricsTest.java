@@ -0,0 +1,114 @@
+package com.github.spookie6.frozen.utils.render;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the width tables against a copy of {@code FontRenderer#getStringWidth} from 1.8.9, both
+ * fed by the same stubbed glyph widths: -1 for the section sign like vanilla, 4 for space, a few
+ * empty glyphs and made up widths for everything else.
+ */
+public class TextMetricsTest {
+    private static final String CODES = "0123456789abcdefklmnorABCDEFKLMNOR";
+
+    @BeforeClass
+    public static void loadStubFont() {
+        TextMetrics.load(TextMetricsTest::glyphWidth);
+    }
+
+    private static int glyphWidth(int c) {
+        if (c == '§') return -1;
+        if (c == ' ') return 4;
+        if (c == 0 || c == 0x200B) return 0;
+        return c * 31 % 9 + 1;
+    }
+
+    /** FontRenderer#getStringWidth with the glyph widths swapped for the stub. */
+    private static int vanillaWidth(String text) {
+        int width = 0;
+        boolean bold = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int charWidth = glyphWidth(c);
+            if (charWidth < 0 && i < text.length() - 1) {
+                c = text.charAt(++i);
+                if (c == 'l' || c == 'L') bold = true;
+                else if (c == 'r' || c == 'R') bold = false;
+                charWidth = 0;
+            }
+            width += charWidth;
+            if (bold && charWidth > 0) width++;
+        }
+        return width;
+    }
+
+    @Test
+    public void flatTableMatchesEveryChar() {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            assertEquals("char " + c, glyphWidth(c), TextMetrics.getCharWidth((char) c));
+            String text = String.valueOf((char) c);
+            assertEquals("char " + c, vanillaWidth(text), TextMetrics.getWidth(text));
+        }
+    }
+
+    @Test
+    public void boldTableMatchesEveryChar() {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            String text = "§l" + (char) c;
+            assertEquals("char " + c, vanillaWidth(text), TextMetrics.getWidth(text));
+        }
+        assertEquals(5, TextMetrics.getWidth("§l "));
+        assertEquals(0, TextMetrics.getWidth("§l\u200B"));
+    }
+
+    @Test
+    public void formattingCodes() {
+        String[] texts = {
+                "§aGreen §lbold §rplain",
+                "§lbold §cstays bold",
+                "§LBOLD§Rplain",
+                "§kobf §mstrike §nunder §oitalic",
+                "§§double",
+                "trailing§",
+                "§",
+                "",
+                "§l§",
+                "§zunknown code"
+        };
+        for (String text : texts) assertEquals(text, vanillaWidth(text), TextMetrics.getWidth(text));
+    }
+
+    @Test
+    public void randomFormattedStrings() {
+        Random random = new Random(5);
+        StringBuilder sb = new StringBuilder();
+        for (int n = 0; n < 10_000; n++) {
+            sb.setLength(0);
+            int length = random.nextInt(40);
+            for (int i = 0; i < length; i++) {
+                int roll = random.nextInt(10);
+                if (roll == 0) sb.append('§').append(CODES.charAt(random.nextInt(CODES.length())));
+                else if (roll == 1) sb.append(' ');
+                else if (roll == 2) sb.append((char) random.nextInt(Character.MAX_VALUE + 1));
+                else sb.append((char) (' ' + random.nextInt(95)));
+            }
+            if (random.nextInt(8) == 0) sb.append('§');
+            String text = sb.toString();
+            assertEquals(text, vanillaWidth(text), TextMetrics.getWidth(text));
+        }
+    }
+
+    @Test
+    public void rangeMatchesSubstring() {
+        String text = "§6Splits §lPB §r12.34s";
+        for (int start = 0; start <= text.length(); start++) {
+            for (int end = start; end <= text.length(); end++) {
+                assertEquals(start + ".." + end, vanillaWidth(text.substring(start, end)), TextMetrics.getWidth(text, start, end));
+            }
+        }
+    }
+}
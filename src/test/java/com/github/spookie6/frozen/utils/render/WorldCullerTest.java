@@ -0,0 +1,101 @@
+package com.github.spookie6.frozen.utils.render;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Boxes against a 90 degree, square perspective frustum with near 0.05 and far 100, the camera
+ * at the origin looking down -Z. At a depth of 10 the visible range is -10 to 10 on x and y.
+ */
+public class WorldCullerTest {
+    private static final float NEAR = 0.05f;
+    private static final float FAR = 100;
+    // Column-major, as glGetFloat returns them
+    private static final float[] PROJECTION = {
+            1, 0, 0, 0,
+            0, 1, 0, 0,
+            0, 0, (FAR + NEAR) / (NEAR - FAR), -1,
+            0, 0, 2 * FAR * NEAR / (NEAR - FAR), 0
+    };
+    private static final float[] IDENTITY = {
+            1, 0, 0, 0,
+            0, 1, 0, 0,
+            0, 0, 1, 0,
+            0, 0, 0, 1
+    };
+    // Yawed so the camera looks down +X instead
+    private static final float[] FACING_X = {
+            0, 0, -1, 0,
+            0, 1, 0, 0,
+            1, 0, 0, 0,
+            0, 0, 0, 1
+    };
+
+    @Before
+    public void lookDownZ() {
+        WorldCuller.update(PROJECTION, IDENTITY, 0, 0, 0);
+    }
+
+    /** A 2 block cube centred on (x, y, z) with no distance limit. */
+    private static boolean cube(double x, double y, double z) {
+        return cube(x, y, z, 0);
+    }
+
+    private static boolean cube(double x, double y, double z, double maxDistance) {
+        return WorldCuller.test(x - 1, y - 1, z - 1, x + 1, y + 1, z + 1, maxDistance);
+    }
+
+    @Test
+    public void insideIsVisible() {
+        assertTrue(cube(0, 0, -10));
+        assertTrue(cube(8, -8, -10));
+        assertTrue(cube(0, 0, -98));
+    }
+
+    @Test
+    public void outsideEachPlaneIsCulled() {
+        assertFalse("left", cube(-15, 0, -10));
+        assertFalse("right", cube(15, 0, -10));
+        assertFalse("bottom", cube(0, -15, -10));
+        assertFalse("top", cube(0, 15, -10));
+        assertFalse("near", cube(0, 0, 5));
+        assertFalse("far", cube(0, 0, -120));
+    }
+
+    @Test
+    public void straddlingAPlaneIsVisible() {
+        assertTrue("left", cube(-10.5, 0, -10));
+        assertTrue("right", cube(10.5, 0, -10));
+        assertTrue("bottom", cube(0, -10.5, -10));
+        assertTrue("top", cube(0, 10.5, -10));
+        assertTrue("near", cube(0, 0, 0));
+        assertTrue("far", cube(0, 0, -100));
+    }
+
+    @Test
+    public void beyondRenderDistanceIsCulled() {
+        assertTrue(cube(0, 0, -40, 48));
+        assertFalse(cube(0, 0, -60, 48));
+        // Measured to the nearest point of the box, not its centre
+        assertTrue(cube(0, 0, -48.5, 48));
+        assertTrue("0 disables the check", cube(0, 0, -60, 0));
+    }
+
+    @Test
+    public void distanceIsCheckedBehindTheCamera() {
+        assertFalse(cube(0, 0, 60, 48));
+        assertFalse("still behind the near plane", cube(0, 0, 40, 48));
+    }
+
+    @Test
+    public void modelviewRotatesTheFrustum() {
+        WorldCuller.update(PROJECTION, FACING_X, 0, 0, 0);
+        assertTrue(cube(10, 0, 0));
+        assertFalse(cube(0, 0, -10));
+        assertFalse(cube(-10, 0, 0));
+        assertFalse(cube(10, 0, 15));
+        assertTrue(cube(10, 0, 10.5));
+    }
+}
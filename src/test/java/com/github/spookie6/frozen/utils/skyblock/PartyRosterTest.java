@@ -0,0 +1,70 @@
+package com.github.spookie6.frozen.utils.skyblock;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PartyRosterTest {
+    @Test
+    public void flagsFollowMembers() {
+        PartyRoster roster = new PartyRoster();
+        roster.put("Alpha", "[MVP+]");
+        roster.put("Bravo", "");
+        roster.setFlag("Alpha", PartyRoster.LEADER, true);
+        roster.setFlag("Bravo", PartyRoster.MODERATOR, true);
+
+        assertEquals("Alpha", roster.findFlag(PartyRoster.LEADER));
+        assertTrue(roster.hasFlag("Bravo", PartyRoster.MODERATOR));
+        assertFalse(roster.hasFlag("Bravo", PartyRoster.LEADER));
+
+        // Re-adding without a rank keeps the known rank
+        roster.put("Alpha", "");
+        assertEquals("[MVP+]", roster.getRank("Alpha"));
+
+        roster.clearFlag(PartyRoster.LEADER);
+        assertNull(roster.findFlag(PartyRoster.LEADER));
+        assertTrue(roster.remove("Bravo"));
+        assertFalse(roster.hasFlag("Bravo", PartyRoster.MODERATOR));
+        assertEquals(1, roster.size());
+    }
+
+    /** Random puts and removes over a small name pool, so probe chains collide and get shifted back. */
+    @Test
+    public void matchesHashMap() {
+        Random random = new Random(42);
+        PartyRoster roster = new PartyRoster();
+        Map<String, String> expected = new HashMap<>();
+
+        for (int step = 0; step < 200_000; step++) {
+            String name = "Player" + random.nextInt(64);
+            switch (random.nextInt(3)) {
+                case 0:
+                case 1:
+                    String rank = random.nextBoolean() ? "" : "[VIP]";
+                    roster.put(name, rank);
+                    if (!rank.isEmpty() || !expected.containsKey(name)) expected.put(name, rank);
+                    break;
+                default:
+                    assertEquals(expected.remove(name) != null, roster.remove(name));
+            }
+            if (step % 1000 == 0) {
+                assertEquals(expected.size(), roster.size());
+                for (Map.Entry<String, String> entry : expected.entrySet()) {
+                    assertEquals(entry.getValue(), roster.getRank(entry.getKey()));
+                }
+                List<String> names = roster.getNames();
+                Collections.sort(names);
+                List<String> keys = new ArrayList<>(expected.keySet());
+                Collections.sort(keys);
+                assertEquals(keys, names);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.spookie6.frozen.utils.skyblock;
+
+import com.github.spookie6.frozen.events.ChatRules;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Replays recorded party chat through {@link ChatRules} into {@link PartyUtils}. Transcripts live in
+ * {@code transcripts/party}, lines starting with {@code ?} check the roster at that point.
+ */
+public class PartyTranscriptTest {
+    @BeforeClass
+    public static void registerRules() {
+        PartyUtils.localPlayer = () -> "Me";
+        new PartyUtils();
+    }
+
+    @Before
+    public void reset() {
+        PartyUtils.disband();
+    }
+
+    @Test
+    public void joinAndLeave() throws IOException {
+        replay("join_and_leave.txt");
+    }
+
+    @Test
+    public void partyList() throws IOException {
+        replay("party_list.txt");
+    }
+
+    @Test
+    public void transfer() throws IOException {
+        replay("transfer.txt");
+    }
+
+    @Test
+    public void noise() throws IOException {
+        replay("noise.txt");
+    }
+
+    private static void replay(String name) throws IOException {
+        InputStream in = PartyTranscriptTest.class.getResourceAsStream("/transcripts/party/" + name);
+        assertNotNull("missing transcript " + name, in);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                if (line.startsWith("?")) check(name + ":" + lineNumber, line.substring(1).trim().split(" "));
+                else ChatRules.dispatch(line);
+            }
+        }
+    }
+
+    private static void check(String where, String[] check) {
+        List<String> args = Arrays.asList(check).subList(1, check.length);
+        switch (check[0]) {
+            case "members":
+                List<String> members = new ArrayList<>(PartyUtils.getMembers());
+                Collections.sort(members);
+                List<String> expected = new ArrayList<>(args);
+                Collections.sort(expected);
+                assertEquals(where, expected, members);
+                break;
+            case "missing":
+                for (String username : args) assertFalse(where + " " + username, PartyUtils.memberInParty(username));
+                break;
+            case "leader":
+                assertEquals(where, args.get(0), PartyUtils.getLeader());
+                assertTrue(where, PartyUtils.isLeader(args.get(0)));
+                break;
+            case "moderator":
+                for (String username : PartyUtils.getMembers()) {
+                    assertEquals(where + " " + username, args.contains(username), PartyUtils.isModerator(username));
+                }
+                break;
+            case "rank":
+                assertEquals(where, args.size() > 1 ? args.get(1) : "", PartyUtils.getRank(args.get(0)));
+                break;
+            case "size":
+                assertEquals(where, Integer.parseInt(args.get(0)), PartyUtils.getSize());
+                break;
+            case "inParty":
+                assertEquals(where, Boolean.parseBoolean(args.get(0)), PartyUtils.inParty());
+                break;
+            default:
+                fail(where + " unknown check " + check[0]);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.spookie6.frozen.utils.skyblock.dungeon;
+
+import com.github.spookie6.frozen.utils.skyblock.dungeon.SplitsManager.Split;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * Startup cost of the run history at 10k saved runs: reading and indexing the log, then the first
+ * personal best query that sorts a floor. Not a test, run the main method by hand, the first
+ * round is the cold one.
+ */
+public class RunHistoryBenchmark {
+    private static final int RUNS = 10_000;
+    private static final int ROUNDS = 50;
+
+    public static void main(String[] args) throws Exception {
+        File dir = Files.createTempDirectory("frozen-runs").toFile();
+        File file = new File(dir, "runs.bin");
+        DungeonEnums.Floor[] floors = {DungeonEnums.Floor.F7, DungeonEnums.Floor.M5, DungeonEnums.Floor.M6, DungeonEnums.Floor.M7};
+
+        Random random = new Random(3);
+        RunHistory.load(file);
+        for (int i = 0; i < RUNS; i++) {
+            long[][] times = new long[RunHistory.SPLITS][];
+            for (int split = 0; split < RunHistory.SPLITS; split++) {
+                long millis = 20_000 + random.nextInt(40_000);
+                times[split] = new long[]{millis, millis / 50};
+            }
+            RunHistory.append(floors[i % floors.length], times);
+        }
+        RunHistoryTest.await();
+        System.out.printf("%d runs, %d bytes%n", RUNS, file.length());
+
+        long[] load = new long[ROUNDS];
+        long[] query = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            RunHistory.load(file);
+            RunHistoryTest.await();
+            load[round] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            RunHistory.getBest(DungeonEnums.Floor.M7, Split.BloodOpened);
+            query[round] = System.nanoTime() - start;
+            if (RunHistory.getRunCount(DungeonEnums.Floor.M7) != RUNS / floors.length) throw new IllegalStateException("load failed");
+        }
+        print("load", load);
+        print("first PB", query);
+
+        for (File f : dir.listFiles()) f.delete();
+        dir.delete();
+    }
+
+    private static void print(String name, long[] nanos) {
+        long warm = 0;
+        for (int i = 1; i < nanos.length; i++) warm += nanos[i];
+        System.out.printf("%-8s cold %8.3f ms, warm %8.3f ms%n", name, nanos[0] / 1e6, warm / 1e6 / (nanos.length - 1));
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.spookie6.frozen.utils.skyblock.dungeon;
+
+import com.github.spookie6.frozen.utils.skyblock.dungeon.SplitsManager.Split;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class RunHistoryTest {
+    private File dir;
+    private File file;
+
+    @Before
+    public void createFile() throws IOException {
+        dir = Files.createTempDirectory("frozen-runs").toFile();
+        file = new File(dir, "runs.bin");
+    }
+
+    @After
+    public void deleteFile() {
+        File[] files = dir.listFiles();
+        if (files != null) for (File f : files) f.delete();
+        dir.delete();
+    }
+
+    /** Waits for the pending load and appends on the history thread. */
+    static void await() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        RunHistory.execute(latch::countDown);
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    /** A run with only BloodOpened and BossEntry, a negative time leaves that split out. */
+    static long[][] run(long bloodOpened, long bossEntry) {
+        long[][] times = new long[RunHistory.SPLITS][];
+        if (bloodOpened >= 0) times[Split.BloodOpened.ordinal()] = new long[]{bloodOpened, bloodOpened / 50};
+        if (bossEntry >= 0) times[Split.BossEntry.ordinal()] = new long[]{bossEntry, bossEntry / 50};
+        return times;
+    }
+
+    private long records() {
+        return (file.length() - RunHistory.HEADER_SIZE) / RunHistory.RECORD_SIZE;
+    }
+
+    @Test
+    public void recordsRoundTrip() throws Exception {
+        RunHistory.load(file);
+        RunHistory.append(DungeonEnums.Floor.F7, run(30000, 150000));
+        RunHistory.append(DungeonEnums.Floor.F7, run(28000, -1));
+        RunHistory.append(DungeonEnums.Floor.M3, run(25000, 90000));
+        await();
+        assertEquals(RunHistory.HEADER_SIZE + 3L * RunHistory.RECORD_SIZE, file.length());
+
+        RunHistory.load(file);
+        await();
+        assertEquals(2, RunHistory.getRunCount(DungeonEnums.Floor.F7));
+        assertEquals(1, RunHistory.getRunCount(DungeonEnums.Floor.M3));
+        assertEquals(0, RunHistory.getRunCount(DungeonEnums.Floor.F1));
+        assertArrayEquals(new int[]{30000, 28000}, RunHistory.getRecentMillis(DungeonEnums.Floor.F7, 10)[Split.BloodOpened.ordinal()]);
+        assertArrayEquals(new int[]{150000}, RunHistory.getRecentMillis(DungeonEnums.Floor.F7, 10)[Split.BossEntry.ordinal()]);
+        assertEquals(28000, RunHistory.getBest(DungeonEnums.Floor.F7, Split.BloodOpened));
+        assertEquals(-1, RunHistory.getBest(DungeonEnums.Floor.F7, Split.Maxor));
+        assertEquals(90000, RunHistory.getBest(DungeonEnums.Floor.M3, Split.BossEntry));
+    }
+
+    @Test
+    public void recentMillisShareOneWindow() throws Exception {
+        RunHistory.load(file);
+        RunHistory.append(DungeonEnums.Floor.F6, run(20000, 80000));
+        RunHistory.append(DungeonEnums.Floor.F6, run(21000, -1));
+        RunHistory.append(DungeonEnums.Floor.F6, run(22000, 82000));
+        RunHistory.append(DungeonEnums.Floor.F6, run(23000, -1));
+        await();
+
+        int[][] window = RunHistory.getRecentMillis(DungeonEnums.Floor.F6, 3);
+        assertArrayEquals(new int[]{21000, 22000, 23000}, window[Split.BloodOpened.ordinal()]);
+        // Only the runs in the window count, not the last 3 that reached boss
+        assertArrayEquals(new int[]{82000}, window[Split.BossEntry.ordinal()]);
+        assertArrayEquals(new int[0], window[Split.Maxor.ordinal()]);
+    }
+
+    @Test
+    public void truncatedTailRecordIsDroppedAndOverwritten() throws Exception {
+        RunHistory.load(file);
+        RunHistory.append(DungeonEnums.Floor.F5, run(20000, 60000));
+        RunHistory.append(DungeonEnums.Floor.F5, run(21000, 61000));
+        await();
+
+        // A crash halfway through writing a third record
+        Files.write(file.toPath(), new byte[RunHistory.RECORD_SIZE / 2], StandardOpenOption.APPEND);
+
+        RunHistory.load(file);
+        await();
+        assertEquals(2, RunHistory.getRunCount(DungeonEnums.Floor.F5));
+
+        RunHistory.append(DungeonEnums.Floor.F5, run(19000, 59000));
+        await();
+        assertEquals(RunHistory.HEADER_SIZE + 3L * RunHistory.RECORD_SIZE, file.length());
+
+        RunHistory.load(file);
+        await();
+        assertArrayEquals(new int[]{20000, 21000, 19000}, RunHistory.getRecentMillis(DungeonEnums.Floor.F5, 10)[Split.BloodOpened.ordinal()]);
+    }
+
+    @Test
+    public void unknownHeaderIsMovedToBackup() throws Exception {
+        byte[] junk = "not a frozen run history file".getBytes("UTF-8");
+        Files.write(file.toPath(), junk);
+
+        RunHistory.load(file);
+        await();
+        assertEquals(0, RunHistory.getRunCount(DungeonEnums.Floor.F7));
+        File backup = new File(dir, "runs.bin.bak");
+        assertArrayEquals(junk, Files.readAllBytes(backup.toPath()));
+        assertFalse(file.exists());
+
+        RunHistory.append(DungeonEnums.Floor.F7, run(30000, 150000));
+        await();
+        assertEquals(1, records());
+
+        RunHistory.load(file);
+        await();
+        assertEquals(1, RunHistory.getRunCount(DungeonEnums.Floor.F7));
+    }
+
+    @Test
+    public void loadDropsRunsOfThePreviousFile() throws Exception {
+        RunHistory.load(file);
+        RunHistory.append(DungeonEnums.Floor.F2, run(10000, 40000));
+        await();
+
+        RunHistory.load(new File(dir, "other.bin"));
+        await();
+        assertEquals(0, RunHistory.getRunCount(DungeonEnums.Floor.F2));
+    }
+}
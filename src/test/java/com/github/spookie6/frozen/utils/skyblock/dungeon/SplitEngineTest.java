@@ -0,0 +1,120 @@
+package com.github.spookie6.frozen.utils.skyblock.dungeon;
+
+import com.github.spookie6.frozen.utils.skyblock.dungeon.SplitsManager.Split;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Feeds a generated run for every floor through a {@link SplitEngine}. The lines each split waits
+ * for are the ones its pattern lists, with party chat and other boss lines in between that must
+ * not complete anything. Timing and message order are idealised, not recorded from real runs.
+ */
+public class SplitEngineTest {
+    private static final String[] BOSS_INTROS = {
+            null,
+            "[BOSS] Bonzo: Gratz for making it this far, but I'm basically unbeatable.",
+            "[BOSS] Scarf: This is where the journey ends for you, Adventurers.",
+            "[BOSS] The Professor: I was burdened with terrible news recently...",
+            "[BOSS] Thorn: Welcome Adventurers! I am Thorn, the Spirit! And host of the Vegan Trials!",
+            "[BOSS] Livid: Welcome, you've arrived right on time. I am Livid, the Master of Shadows.",
+            "[BOSS] Sadan: So you made it all the way here... Now you wish to defy me? Sadan?!",
+            "[BOSS] Maxor: WELL! WELL! WELL! LOOK WHO'S HERE!"
+    };
+    private static final String[] BOSS_NAMES = {"The Watcher", "Bonzo", "Scarf", "The Professor", "Thorn", "Livid", "Sadan", "Maxor, Storm, Goldor, and Necron"};
+
+    @Test
+    public void everyFloorWithBossSplit() {
+        for (DungeonEnums.Floor floor : DungeonEnums.Floor.values()) {
+            if (floor != DungeonEnums.Floor.None) replay(floor, true);
+        }
+    }
+
+    @Test
+    public void everyFloorWithoutBossSplit() {
+        for (DungeonEnums.Floor floor : DungeonEnums.Floor.values()) {
+            if (floor != DungeonEnums.Floor.None) replay(floor, false);
+        }
+    }
+
+    @Test
+    public void entranceEndsOnBloodCleared() {
+        SplitEngine run = new SplitEngine(DungeonEnums.Floor.E, true);
+        assertArrayEquals(new Split[]{Split.BloodOpened, Split.BloodCleared}, run.order);
+        run.onMessage("[BOSS] The Watcher: Congratulations, you made it through the Entrance.", 1000, 20);
+        assertEquals(Split.BloodCleared, run.onMessage("[BOSS] The Watcher: You have proven yourself. You may pass.", 2000, 40));
+        assertEquals(Split.Unknown, run.getCurrent());
+    }
+
+    @Test
+    public void onlyTheCurrentSplitIsMatched() {
+        SplitEngine run = new SplitEngine(DungeonEnums.Floor.F4, true);
+        assertNull(run.onMessage(BOSS_INTROS[4], 1000, 20));
+        assertNull(run.onMessage("[BOSS] The Watcher: You have proven yourself. You may pass.", 1000, 20));
+        assertEquals(Split.BloodOpened, run.getCurrent());
+    }
+
+    @Test
+    public void portalAlsoRecordsBossEntry() {
+        SplitEngine run = new SplitEngine(DungeonEnums.Floor.M5, true);
+        run.onMessage("The BLOOD DOOR has been opened!", 1000, 20);
+        run.onMessage("[BOSS] The Watcher: You have proven yourself. You may pass.", 2000, 40);
+        assertEquals(Split.Portal, run.onMessage(BOSS_INTROS[5], 3000, 60));
+
+        int portal = run.indexOf(Split.Portal);
+        int entry = run.indexOf(Split.BossEntry);
+        assertEquals(3000, run.millis[portal]);
+        assertEquals(run.millis[portal], run.millis[entry]);
+        assertEquals(run.ticks[portal], run.ticks[entry]);
+        assertEquals(Split.Boss, run.getCurrent());
+    }
+
+    private static void replay(DungeonEnums.Floor floor, boolean bossSplit) {
+        SplitEngine run = new SplitEngine(floor, bossSplit);
+        long now = 0;
+        for (Object[] line : chat(floor)) {
+            String message = (String) line[0];
+            Split split = (Split) line[1];
+            String where = floor + (bossSplit ? " with" : " without") + " boss split at \"" + message + "\"";
+
+            now += 1000;
+            Split expected = split != null && run.getCurrent() != Split.Unknown && run.indexOf(split) >= 0 ? split : null;
+            assertEquals(where, expected, run.onMessage(message, now, now / 50));
+            if (expected == null) continue;
+
+            assertEquals(where, now, run.millis[run.indexOf(split)]);
+            assertEquals(where, now / 50, run.ticks[run.indexOf(split)]);
+        }
+
+        assertEquals(floor + " not finished", Split.Unknown, run.getCurrent());
+        for (Split split : run.order) assertTrue(floor + " missing " + split, run.isDone(split));
+    }
+
+    /** Chat of a run on the floor as {message, split it completes or null}. */
+    private static List<Object[]> chat(DungeonEnums.Floor floor) {
+        int n = floor.floorNumber;
+        List<Object[]> chat = new ArrayList<>();
+        chat.add(new Object[]{"[NPC] Mort: Here, I found this map when I first entered the dungeon.", null});
+        chat.add(new Object[]{"Party > [MVP+] Alpha: blood ready", null});
+        chat.add(new Object[]{"[BOSS] The Watcher: Let's see how you can handle this.", null});
+        chat.add(new Object[]{n == 0 ? "[BOSS] The Watcher: Congratulations, you made it through the Entrance." : "The BLOOD DOOR has been opened!", Split.BloodOpened});
+        chat.add(new Object[]{"[BOSS] The Watcher: You have proven yourself. You may pass.", Split.BloodCleared});
+        if (n == 0) return chat;
+
+        chat.add(new Object[]{BOSS_INTROS[n], Split.Portal});
+        if (n == 7) {
+            chat.add(new Object[]{"[BOSS] Storm: Pathetic Maxor, just like expected.", Split.Maxor});
+            chat.add(new Object[]{"[BOSS] Goldor: Who dares trespass into my domain?", Split.Storm});
+            chat.add(new Object[]{"Alpha activated a terminal! (1/7)", null});
+            chat.add(new Object[]{"The Core entrance is opening!", Split.Terminals});
+            chat.add(new Object[]{"[BOSS] Necron: You went further than any human before, congratulations.", Split.Goldor});
+            chat.add(new Object[]{"[BOSS] Necron: All this, for nothing...", Split.Necron});
+        }
+        chat.add(new Object[]{"Party > [VIP] Bravo: ☠ Defeated " + BOSS_NAMES[n] + " in 01m 00s", null});
+        chat.add(new Object[]{"           ☠ Defeated " + BOSS_NAMES[n] + " in 0" + n + "m 2" + n + "s", n == 7 && floor.isMM ? Split.Dragons : Split.Boss});
+        return chat;
+    }
+}